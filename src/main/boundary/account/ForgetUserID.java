@@ -39,6 +39,11 @@ public class ForgetUserID {
         // Display information based on the result
         if (users.isEmpty()) {
             System.out.println("No user found with name " + name + ".");
+            // Suggest the names starting with what was entered
+            List<String> suggestions = AccountManager.getUserNamesByPrefix(name, 5);
+            if (!suggestions.isEmpty()) {
+                System.out.println("Did you mean: " + String.join(", ", suggestions) + "?");
+            }
         } else {
             System.out.println("Found " + users.size() + " user(s) with name " + name + ".");
             System.out.println("The list of UserID associated with " + name + " is:");
@@ -77,7 +77,8 @@ public class StaffMainPage {
             System.out.println("\t7. View and Reply Pending Enquiries");
             System.out.println("\t8. View and Handle Pending Suggestions");
             System.out.println("\t9. Generate Reports");
-            System.out.println("\t10. Logout");
+            System.out.println("\t10. Enrol Students in Bulk");
+            System.out.println("\t11. Logout");
             System.out.println(BoundaryStrings.separator);
 
             System.out.println();
@@ -103,7 +104,8 @@ public class StaffMainPage {
                     case 7 -> StaffManager.viewAndReplyPendingEnquiries(user);
                     case 8 -> StaffManager.viewAndHandlePendingSuggestions(user);
                     case 9 -> StaffManager.generateReports(user);
-                    case 10 -> Logout.logout();
+                    case 10 -> StaffManager.enrolStudentsInBulk(user);
+                    case 11 -> Logout.logout();
                     default -> {
                         System.out.println("Invalid choice. Please press <enter> to try again.");
                         new Scanner(System.in).nextLine();
@@ -8,6 +8,7 @@ import main.controller.camp.CampManager;
 import main.model.camp.Camp;
 import main.model.user.Student;
 import main.model.user.Staff;
+import main.repository.Repository.RepositoryRule;
 import main.repository.camp.CampRepository;
 import main.repository.user.StaffRepository;
 import main.utils.exception.ModelNotFoundException;
@@ -18,7 +19,6 @@ import main.utils.ui.ChangePage;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Objects;
 import java.util.Scanner;
 import java.util.Map;
 import java.util.HashMap;
@@ -29,6 +29,10 @@ import java.util.Comparator;
  * The CampViewer class displays details of camps and provides methods for viewing different lists of camps.
  */
 public class CampViewer {
+    /**
+     * The largest number of camps shown for a search.
+     */
+    private static final int SEARCH_RESULT_LIMIT = 10;
 
    /**
     * Displays the list of available camps.
@@ -39,7 +43,7 @@ public class CampViewer {
         ChangePage.changePage();
 
         System.out.println("View Available Camp List");
-        ModelViewer.displayListOfDisplayable(CampManager.viewAvailableCamps());
+        ModelViewer.displayPages(CampManager.viewAvailableCamps());
 
         System.out.println("Press Enter to go back.");
         new Scanner(System.in).nextLine();
@@ -56,7 +60,7 @@ public class CampViewer {
      */
     public static void viewVisibleFacultyCampList(Student student) throws PageBackException {
         ChangePage.changePage();
-        List<Camp> camps = CampManager.getCampsForStudent(student);
+        List<Camp> camps = new ArrayList<>(CampManager.getCampsForStudent(student));
 
         // Sort camps alphabetically by default
         Comparator<Camp> campComparator = null;
@@ -64,11 +68,12 @@ public class CampViewer {
         Collections.sort(camps, campComparator);
 
         System.out.println("List of Available Camps (Alphabetical Order):");
-        ModelViewer.displayListOfDisplayable(camps);
+        ModelViewer.displayPages(camps);
 
         System.out.println("Choose an option:");
         System.out.println("\t1. Sort camps");
-        System.out.println("\t2. Go Back");
+        System.out.println("\t2. Search camps");
+        System.out.println("\t3. Go Back");
 
         System.out.print("Enter your choice: ");
         int choice = IntGetter.readInt();
@@ -79,6 +84,9 @@ public class CampViewer {
                 sortCampsByOption(camps, student);
                 break;
             case 2:
+                searchCamps(student);
+                break;
+            case 3:
                 throw new PageBackException();
             default:
                 System.out.println("Invalid choice. Try again.");
@@ -87,6 +95,31 @@ public class CampViewer {
         }
     }
 
+    /**
+     * Searches the camps available to the student by name, location and description and
+     * displays the best matches.
+     *
+     * @param student the student searching for camps
+     * @throws PageBackException if the user wants to go back
+     */
+    private static void searchCamps(Student student) throws PageBackException {
+        ChangePage.changePage();
+        System.out.print("Enter the words to search for: ");
+        String query = new Scanner(System.in).nextLine();
+        List<Camp> camps = CampManager.searchCampsForStudent(student, query, SEARCH_RESULT_LIMIT);
+
+        ChangePage.changePage();
+        System.out.println("Best Matching Camps for \"" + query + "\":");
+        ModelViewer.displayPages(camps);
+
+        System.out.println("Press Enter to go back, or enter [r] to search again.");
+        String choice = new Scanner(System.in).nextLine();
+        if (choice.equals("r")) {
+            searchCamps(student);
+        }
+        throw new PageBackException();
+    }
+
     /**
      * Sorts the list of camps based on the user's choice and displays the sorted list.
      *
@@ -132,11 +165,8 @@ public class CampViewer {
                 break;
             case 3:
                 sortTitle = "List of Available Camps (Date order):";
-                campComparator = (camp1, camp2) -> {
-                    String date1 = camp1.getDates().substring(0, 8);
-                    String date2 = camp2.getDates().substring(0, 8);
-                    return date1.compareTo(date2);
-                };
+                campComparator = Comparator.comparingLong(Camp::getStartEpochDay)
+                        .thenComparingLong(Camp::getEndEpochDay);
 
                 break;
             case 4:
@@ -157,7 +187,7 @@ public class CampViewer {
 
         ChangePage.changePage();
         System.out.println(sortTitle);
-        ModelViewer.displayListOfDisplayable(camps);
+        ModelViewer.displayPages(camps);
 
         System.out.println("Press Enter to go back.");
         new Scanner(System.in).nextLine();
@@ -181,9 +211,9 @@ public class CampViewer {
      */
     public static void viewStaffCamps(Staff staff) throws PageBackException {
         List<Camp> camps = CampRepository.getInstance()
-                .findByRules(camp -> Objects.equals(camp.getStaffID(), staff.getID()));
+                .findByRules(RepositoryRule.fieldEquals("staffID", staff.getID()));
         System.out.println("Here are all your camps:");
-        ModelViewer.displayListOfDisplayable(camps);
+        ModelViewer.displayPages(camps);
     }
 
     /**
@@ -253,12 +283,13 @@ public class CampViewer {
      */
     public static void viewCampList(Staff staff, List<Camp> camps, boolean isVisible) throws PageBackException {
         ChangePage.changePage();
+        camps = new ArrayList<>(camps);
 
         Comparator<Camp> campComparator = Comparator.comparing(Camp::getCampName, String.CASE_INSENSITIVE_ORDER);
         Collections.sort(camps, campComparator);
 
         System.out.println("List of Available Camps (Alphabetical Order):");
-        ModelViewer.displayListOfDisplayable(camps);
+        ModelViewer.displayPages(camps);
 
         System.out.println("Choose an option:");
         System.out.println("\t1. Sort camps");
@@ -326,7 +357,8 @@ public class CampViewer {
                 break;
             case 3:
                 sortTitle = "List of Available Camps (Date order):";
-                campComparator = Comparator.comparing(camp -> camp.getDates().substring(0, 8));
+                campComparator = Comparator.comparingLong(Camp::getStartEpochDay)
+                        .thenComparingLong(Camp::getEndEpochDay);
                 break;
             case 4:
                 sortTitle = "List of Available Camps (Closing Date order):";
@@ -346,7 +378,7 @@ public class CampViewer {
 
         ChangePage.changePage();
         System.out.println(sortTitle);
-        ModelViewer.displayListOfDisplayable(camps);
+        ModelViewer.displayPages(camps);
 
         System.out.println("Press Enter to go back.");
         new Scanner(System.in).nextLine();
@@ -5,15 +5,25 @@
 package main.boundary.modelviewer;
 
 import main.model.Displayable;
+import main.model.Model;
 import main.model.camp.Camp;
+import main.repository.Page;
+import main.repository.Repository;
+import main.repository.Repository.RepositoryRule;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 /**
  * The ModelViewer class is responsible for displaying single or lists of
  * objects that implement the Displayable interface.
  */
 public class ModelViewer {
+    /**
+     * The number of Displayable objects shown on one page.
+     */
+    public static final int PAGE_SIZE = 5;
+
     /**
      * Displays a single Displayable object.
      *
@@ -42,6 +52,98 @@ public class ModelViewer {
         }
     }
 
+    /**
+     * Displays a list of Displayable objects one page at a time, letting the user move to the
+     * next and previous pages.
+     *
+     * @param displayableList The list of Displayable objects to be displayed.
+     */
+    public static void displayPages(List<? extends Displayable> displayableList) {
+        if (Objects.isNull(displayableList) || displayableList.isEmpty()) {
+            System.out.println("Nothing found");
+            return;
+        }
+        browse(previous -> {
+            int offset = previous == null ? 0 : previous.getEndOffset();
+            int end = Math.min(offset + PAGE_SIZE, displayableList.size());
+            return new Page<Displayable>(new ArrayList<>(displayableList.subList(offset, end)), offset,
+                    end < displayableList.size());
+        });
+    }
+
+    /**
+     * Displays the model objects of a repository matching the given rules one page at a time,
+     * letting the user move to the next and previous pages. Only the pages the user moves to
+     * are read from the repository, each continuing after the last model object of the page
+     * before it.
+     *
+     * @param repository The repository to read the model objects from.
+     * @param comparator The order of the model objects, or null for repository order.
+     * @param rules      The rules the model objects must match.
+     * @param <M>        The type of model object to display.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // the rules array is only handed on to the repository to read
+    public static <M extends Model & Displayable> void displayPages(Repository<M> repository,
+                                                                   Comparator<? super M> comparator,
+                                                                   RepositoryRule<M>... rules) {
+        Page<M> first = repository.page(0, PAGE_SIZE, comparator, rules);
+        if (first.isEmpty()) {
+            System.out.println("Nothing found");
+            return;
+        }
+        ModelViewer.<M>browse(previous -> previous == null ? first
+                : repository.pageAfter(previous, PAGE_SIZE, comparator, rules));
+    }
+
+    /**
+     * Shows pages one at a time until the user continues past them. The pages already shown
+     * are kept so that moving back does not read them again.
+     *
+     * @param source Gets the page after a page, or the first page for null.
+     * @param <M>    The type of Displayable object on the pages.
+     */
+    private static <M extends Displayable> void browse(UnaryOperator<Page<M>> source) {
+        Deque<Page<M>> shown = new ArrayDeque<>();
+        Page<M> page = source.apply(null);
+        while (true) {
+            displayPage(page);
+            if (!page.hasNext() && !page.hasPrevious()) {
+                return;
+            }
+            System.out.println("Enter [n] for the next page, [p] for the previous page, or press Enter to continue.");
+            String choice = new Scanner(System.in).nextLine().trim();
+            if (choice.equalsIgnoreCase("n") && page.hasNext()) {
+                Page<M> next = source.apply(page);
+                if (!next.isEmpty()) {
+                    shown.push(page);
+                    page = next;
+                }
+            } else if (choice.equalsIgnoreCase("p") && !shown.isEmpty()) {
+                page = shown.pop();
+            } else if (choice.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Displays one page of Displayable objects, with the range of the objects it holds.
+     *
+     * @param page The page to be displayed.
+     */
+    private static void displayPage(Page<? extends Displayable> page) {
+        System.out.println(page.items().get(0).getSplitter());
+        for (Displayable displayable : page.items()) {
+            System.out.print(displayable.getDisplayableString());
+            System.out.println(displayable.getSplitter());
+        }
+        if (page.hasNext() || page.hasPrevious()) {
+            System.out.println("Showing " + (page.offset() + 1) + " to " + page.getEndOffset()
+                    + (page.hasNext() ? ", more follow" : ", the last page"));
+        }
+    }
+
     /**
      * Displays a list of camps along with their types.
      *
@@ -3,6 +3,7 @@ package main.controller.account;
 import main.controller.account.password.PasswordManager;
 import main.controller.account.user.UserAdder;
 import main.controller.account.user.UserFinder;
+import main.controller.account.user.UserNameIndex;
 import main.controller.account.user.UserUpdater;
 import main.model.user.*;
 import main.repository.user.StaffRepository;
@@ -13,7 +14,6 @@ import main.utils.exception.ModelAlreadyExistsException;
 import main.utils.exception.ModelNotFoundException;
 import main.utils.iocontrol.CSVReader;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -66,14 +66,18 @@ public class AccountManager {
      * @return a list of users with the given user name
      */
     public static List<User> getUsersByUserName(String userName) {
-        List<Student> studentList = StudentRepository.getInstance().findByRules(
-                student -> student.checkUsername(userName));
-        List<Staff> staffList = StaffRepository.getInstance().findByRules(
-                staff -> staff.checkUsername(userName));
-        List<User> userList = new ArrayList<>();
-        userList.addAll(studentList);
-        userList.addAll(staffList);
-        return userList;
+        return UserNameIndex.getUsersByName(userName);
+    }
+
+    /**
+     * Gets the user names starting with a prefix, ignoring case.
+     *
+     * @param prefix the prefix to search for
+     * @param limit  the largest number of user names to return
+     * @return a list of user names starting with the prefix
+     */
+    public static List<String> getUserNamesByPrefix(String prefix, int limit) {
+        return UserNameIndex.getNamesByPrefix(prefix, limit);
     }
 
     /**
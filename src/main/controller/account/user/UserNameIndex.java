@@ -0,0 +1,340 @@
+package main.controller.account.user;
+
+import main.model.user.Staff;
+import main.model.user.Student;
+import main.model.user.User;
+import main.repository.Repository;
+import main.repository.RepositoryListener;
+import main.repository.user.StaffRepository;
+import main.repository.user.StudentRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The UserNameIndex class finds students and staff by user name, ignoring case.
+ * <p>
+ * The users with each case-folded name are kept in a hash map for exact lookups, and the
+ * names are kept in a trie for prefix lookups, so neither lookup checks every user. The
+ * index spans the student and staff repositories. It is built from them on first use and then
+ * kept up to date one user at a time as users are added, updated and removed, through a
+ * {@link RepositoryListener} on each repository. It is rebuilt whenever either repository has
+ * been reopened or reloaded since it was built.
+ */
+public class UserNameIndex {
+    /**
+     * The users with each case-folded name, keyed by {@link #keyOf(User)}.
+     */
+    private static final Map<String, Map<String, User>> USERS_BY_NAME = new HashMap<>();
+
+    /**
+     * The case-folded name each user is indexed under, keyed by {@link #keyOf(User)}.
+     */
+    private static final Map<String, String> NAME_BY_USER = new HashMap<>();
+
+    /**
+     * The trie of the case-folded names.
+     */
+    private static final TrieNode NAMES = new TrieNode();
+
+    /**
+     * The student repository the index was built from, or null if it has not been built.
+     */
+    private static StudentRepository studentSource = null;
+
+    /**
+     * The staff repository the index was built from, or null if it has not been built.
+     */
+    private static StaffRepository staffSource = null;
+
+    /**
+     * The listener keeping the index up to date with the student source, or null if it has
+     * not been built.
+     */
+    private static Listener<Student> studentListener = null;
+
+    /**
+     * The listener keeping the index up to date with the staff source, or null if it has not
+     * been built.
+     */
+    private static Listener<Staff> staffListener = null;
+
+    private UserNameIndex() {
+    }
+
+    /**
+     * Gets the users with a name, ignoring case.
+     *
+     * @param userName the name
+     * @return the students and staff with the name
+     */
+    public static synchronized List<User> getUsersByName(String userName) {
+        refresh();
+        List<User> users = new ArrayList<>();
+        Map<String, User> named = USERS_BY_NAME.get(fold(userName));
+        if (named != null) {
+            for (User user : named.values()) {
+                if (user.checkUsername(userName)) {
+                    users.add(user);
+                }
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Gets the names starting with a prefix, ignoring case.
+     *
+     * @param prefix the prefix
+     * @param limit  the largest number of names to return
+     * @return the names of the users whose name starts with the prefix, in alphabetical order
+     *         of their case-folded form
+     */
+    public static synchronized List<String> getNamesByPrefix(String prefix, int limit) {
+        refresh();
+        List<String> names = new ArrayList<>();
+        TrieNode node = NAMES;
+        String foldedPrefix = fold(prefix);
+        for (int i = 0; i < foldedPrefix.length() && node != null; i++) {
+            node = node.children.get(foldedPrefix.charAt(i));
+        }
+        if (node != null) {
+            collect(node, new StringBuilder(foldedPrefix), names, limit);
+        }
+        for (int i = 0; i < names.size(); i++) {
+            names.set(i, USERS_BY_NAME.get(names.get(i)).values().iterator().next().getUserName());
+        }
+        return names;
+    }
+
+    /**
+     * Indexes a user, replacing the user with the same ID.
+     *
+     * @param user the user
+     */
+    private static void put(User user) {
+        String key = keyOf(user);
+        String previousName = NAME_BY_USER.get(key);
+        String name = fold(user.getUserName());
+        if (previousName != null && !previousName.equals(name)) {
+            remove(key, previousName);
+        }
+        if (USERS_BY_NAME.computeIfAbsent(name, n -> new LinkedHashMap<>()).put(key, user) == null) {
+            NAMES.insert(name, 0);
+        }
+        NAME_BY_USER.put(key, name);
+    }
+
+    /**
+     * Rebuilds the index if either user repository has been reopened or reloaded since it
+     * was built.
+     */
+    private static void refresh() {
+        StudentRepository studentRepository = StudentRepository.getInstance();
+        StaffRepository staffRepository = StaffRepository.getInstance();
+        if (studentRepository == studentSource && staffRepository == staffSource) {
+            return;
+        }
+        detach();
+        USERS_BY_NAME.clear();
+        NAME_BY_USER.clear();
+        NAMES.children.clear();
+        NAMES.terminal = false;
+        for (Student student : studentRepository) {
+            put(student);
+        }
+        for (Staff staff : staffRepository) {
+            put(staff);
+        }
+        studentSource = studentRepository;
+        staffSource = staffRepository;
+        studentListener = new Listener<>(studentRepository);
+        staffListener = new Listener<>(staffRepository);
+        studentRepository.addListener(studentListener);
+        staffRepository.addListener(staffListener);
+    }
+
+    /**
+     * Stops listening to the sources, so that the index is rebuilt on next use.
+     */
+    private static void detach() {
+        if (studentSource != null) {
+            studentSource.removeListener(studentListener);
+        }
+        if (staffSource != null) {
+            staffSource.removeListener(staffListener);
+        }
+        studentSource = null;
+        staffSource = null;
+        studentListener = null;
+        staffListener = null;
+    }
+
+    /**
+     * Takes a user out of the index.
+     *
+     * @param user the user
+     */
+    private static void remove(User user) {
+        String key = keyOf(user);
+        String name = NAME_BY_USER.remove(key);
+        if (name != null) {
+            remove(key, name);
+        }
+    }
+
+    /**
+     * Takes a user out of the names it is indexed under.
+     *
+     * @param key  the key of the user
+     * @param name the case-folded name the user is indexed under
+     */
+    private static void remove(String key, String name) {
+        Map<String, User> named = USERS_BY_NAME.get(name);
+        if (named == null || named.remove(key) == null) {
+            return;
+        }
+        if (named.isEmpty()) {
+            USERS_BY_NAME.remove(name);
+            NAMES.remove(name, 0);
+        }
+    }
+
+    /**
+     * Collects the names ending at or below a trie node, in alphabetical order.
+     *
+     * @param node   the trie node
+     * @param prefix the name the node stands for
+     * @param names  the names collected so far
+     * @param limit  the largest number of names to collect
+     */
+    private static void collect(TrieNode node, StringBuilder prefix, List<String> names, int limit) {
+        if (names.size() >= limit) {
+            return;
+        }
+        if (node.terminal) {
+            names.add(prefix.toString());
+        }
+        for (Map.Entry<Character, TrieNode> child : node.children.entrySet()) {
+            prefix.append(child.getKey());
+            collect(child.getValue(), prefix, names, limit);
+            prefix.setLength(prefix.length() - 1);
+        }
+    }
+
+    /**
+     * Gets the key of a user, which tells students and staff with the same ID apart.
+     *
+     * @param user the user
+     * @return the key of the user
+     */
+    private static String keyOf(User user) {
+        return (user instanceof Staff ? "STAFF:" : "STUDENT:") + user.getID().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Folds the case of a name.
+     *
+     * @param name the name
+     * @return the case-folded name
+     */
+    private static String fold(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Keeps the index up to date with the changes made to one user repository.
+     *
+     * @param <U> the type of user stored in the repository
+     */
+    private static final class Listener<U extends User> implements RepositoryListener<U> {
+
+        private final Repository<U> repository;
+
+        Listener(Repository<U> repository) {
+            this.repository = repository;
+        }
+
+        private boolean isSource() {
+            return repository == studentSource || repository == staffSource;
+        }
+
+        @Override
+        public void onPut(U user) {
+            synchronized (UserNameIndex.class) {
+                if (isSource()) {
+                    put(user);
+                }
+            }
+        }
+
+        @Override
+        public void onRemove(U user) {
+            synchronized (UserNameIndex.class) {
+                if (isSource()) {
+                    remove(user);
+                }
+            }
+        }
+
+        @Override
+        public void onReset() {
+            synchronized (UserNameIndex.class) {
+                if (isSource()) {
+                    detach();
+                }
+            }
+        }
+    }
+
+    /**
+     * A node of the trie of names, standing for the name spelled by the path to it.
+     */
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new TreeMap<>();
+
+        /**
+         * Whether a name ends at this node.
+         */
+        private boolean terminal;
+
+        /**
+         * Adds the rest of a name below this node.
+         *
+         * @param name  the name
+         * @param index the index of the first character of the name below this node
+         */
+        void insert(String name, int index) {
+            if (index == name.length()) {
+                terminal = true;
+                return;
+            }
+            children.computeIfAbsent(name.charAt(index), c -> new TrieNode()).insert(name, index + 1);
+        }
+
+        /**
+         * Removes the rest of a name below this node, pruning the nodes left without names.
+         *
+         * @param name  the name
+         * @param index the index of the first character of the name below this node
+         * @return true if this node is left without names, false otherwise
+         */
+        boolean remove(String name, int index) {
+            if (index == name.length()) {
+                terminal = false;
+            } else {
+                TrieNode child = children.get(name.charAt(index));
+                if (child != null && child.remove(name, index + 1)) {
+                    children.remove(name.charAt(index));
+                }
+            }
+            return !terminal && children.isEmpty();
+        }
+    }
+}
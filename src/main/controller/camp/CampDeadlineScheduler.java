@@ -0,0 +1,297 @@
+package main.controller.camp;
+
+import main.model.camp.Camp;
+import main.model.camp.CampPhase;
+import main.repository.RepositoryListener;
+import main.repository.camp.CampRepository;
+import main.utils.config.CurrentDate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Moves camps from one {@link CampPhase} to the next as the days given by
+ * {@link CurrentDate} pass: from open to closed on their registration closing date, and from
+ * closed to archived the day after their last day.
+ * <p>
+ * The deadlines of every camp are kept in a priority queue ordered by day, so advancing to
+ * the current day only looks at the deadlines that have passed, and checking that no deadline
+ * has passed takes constant time. Each camp has at most one entry per deadline. The deadlines
+ * of a camp are kept current through a {@link RepositoryListener} on the camp repository: when
+ * a camp is saved with the same dates, as on every registration, only the camp they refer to is
+ * replaced; when its dates change, or it is deleted, its old deadlines are taken out of the
+ * queue. The queue is rebuilt whenever the camp repository has been reopened or reloaded, or
+ * the clock has been set back.
+ * <p>
+ * Views that hide camps in some phases register a phase listener, which is told of every camp
+ * that may have changed phase when the scheduler advances.
+ */
+public class CampDeadlineScheduler {
+    /**
+     * The deadlines of the camps, earliest first.
+     */
+    private static final PriorityQueue<Deadline> DEADLINES = new PriorityQueue<>(
+            Comparator.comparingLong(Deadline::epochDay));
+
+    /**
+     * The scheduled deadlines of each camp, keyed by upper-cased camp ID.
+     */
+    private static final Map<String, ScheduledCamp> SCHEDULED_CAMPS = new HashMap<>();
+
+    /**
+     * The listeners told of every camp that may have changed phase.
+     */
+    private static final List<Consumer<Camp>> PHASE_LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * The camp repository the deadlines were scheduled from, or null if they have not been
+     * scheduled.
+     */
+    private static CampRepository source = null;
+
+    /**
+     * The listener scheduling the deadlines of the camps put in the source, or null if they
+     * have not been scheduled.
+     */
+    private static Listener listener = null;
+
+    /**
+     * The day the scheduler last advanced to, as a count of days since 1970-01-01.
+     */
+    private static long currentEpochDay = Long.MIN_VALUE;
+
+    private CampDeadlineScheduler() {
+    }
+
+    /**
+     * Gets the phase of a camp on the current day.
+     *
+     * @param camp the camp
+     * @return the phase of the camp
+     */
+    public static CampPhase getPhase(Camp camp) {
+        return CampPhase.of(camp, CurrentDate.getEpochDay());
+    }
+
+    /**
+     * Checks whether registration for a camp is open on the current day.
+     *
+     * @param camp the camp
+     * @return true if registration is open, false if it has closed or the camp has finished
+     */
+    public static boolean isOpen(Camp camp) {
+        return getPhase(camp) == CampPhase.OPEN;
+    }
+
+    /**
+     * Adds a listener to be told of every camp that may have changed phase. The listener is
+     * called without the scheduler's lock held.
+     *
+     * @param phaseListener the listener
+     */
+    public static void addPhaseListener(Consumer<Camp> phaseListener) {
+        PHASE_LISTENERS.add(phaseListener);
+    }
+
+    /**
+     * Advances the scheduler to the current day, telling the phase listeners of every camp
+     * whose deadline has passed since the scheduler last advanced.
+     */
+    public static void advance() {
+        List<Camp> changed = advanceTo(CurrentDate.getEpochDay());
+        for (Camp camp : changed) {
+            for (Consumer<Camp> phaseListener : PHASE_LISTENERS) {
+                phaseListener.accept(camp);
+            }
+        }
+    }
+
+    /**
+     * Advances the scheduler to a day.
+     *
+     * @param epochDay the day, as a count of days since 1970-01-01
+     * @return the camps whose deadline has passed, or every camp if the deadlines were rescheduled
+     */
+    private static synchronized List<Camp> advanceTo(long epochDay) {
+        CampRepository repository = CampRepository.getInstance();
+        if (repository != source || epochDay < currentEpochDay) {
+            return reschedule(repository, epochDay);
+        }
+        List<Camp> changed = new ArrayList<>();
+        Set<String> changedKeys = new HashSet<>();
+        while (!DEADLINES.isEmpty() && DEADLINES.peek().epochDay() <= epochDay) {
+            String key = DEADLINES.poll().key();
+            ScheduledCamp scheduledCamp = SCHEDULED_CAMPS.get(key);
+            if (scheduledCamp != null && changedKeys.add(key)) {
+                changed.add(scheduledCamp.camp);
+            }
+        }
+        currentEpochDay = epochDay;
+        return changed;
+    }
+
+    /**
+     * Schedules the deadlines of every camp of a repository afresh.
+     *
+     * @param repository the camp repository
+     * @param epochDay   the current day, as a count of days since 1970-01-01
+     * @return every camp of the repository
+     */
+    private static List<Camp> reschedule(CampRepository repository, long epochDay) {
+        if (source != null) {
+            source.removeListener(listener);
+        }
+        DEADLINES.clear();
+        SCHEDULED_CAMPS.clear();
+        currentEpochDay = epochDay;
+        List<Camp> camps = new ArrayList<>();
+        for (Camp camp : repository) {
+            schedule(camp);
+            camps.add(camp);
+        }
+        source = repository;
+        listener = new Listener(repository);
+        repository.addListener(listener);
+        return camps;
+    }
+
+    /**
+     * Adds the deadlines of a camp that are still to come. If the camp is already scheduled
+     * with the same dates, only the camp its deadlines refer to is replaced; otherwise its old
+     * deadlines are taken out first.
+     *
+     * @param camp the camp
+     */
+    private static void schedule(Camp camp) {
+        String key = keyOf(camp.getID());
+        long closingEpochDay = camp.getRegistrationClosingEpochDay();
+        long endEpochDay = camp.getEndEpochDay();
+        ScheduledCamp scheduledCamp = SCHEDULED_CAMPS.get(key);
+        if (scheduledCamp != null && scheduledCamp.closingEpochDay == closingEpochDay
+                && scheduledCamp.endEpochDay == endEpochDay) {
+            scheduledCamp.camp = camp;
+            return;
+        }
+        unschedule(key);
+        scheduledCamp = new ScheduledCamp(camp, closingEpochDay, endEpochDay);
+        if (closingEpochDay != Camp.INVALID_EPOCH_DAY && closingEpochDay > currentEpochDay) {
+            scheduledCamp.add(new Deadline(closingEpochDay, key));
+        }
+        if (endEpochDay != Camp.INVALID_EPOCH_DAY && endEpochDay + 1 > currentEpochDay) {
+            scheduledCamp.add(new Deadline(endEpochDay + 1, key));
+        }
+        SCHEDULED_CAMPS.put(key, scheduledCamp);
+    }
+
+    /**
+     * Takes the deadlines of a camp out of the queue.
+     *
+     * @param key the upper-cased ID of the camp
+     */
+    private static void unschedule(String key) {
+        ScheduledCamp scheduledCamp = SCHEDULED_CAMPS.remove(key);
+        if (scheduledCamp != null) {
+            for (Deadline deadline : scheduledCamp.deadlines) {
+                DEADLINES.remove(deadline);
+            }
+        }
+    }
+
+    private static String keyOf(String campID) {
+        return campID.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The day on which a camp may change phase.
+     *
+     * @param epochDay the day, as a count of days since 1970-01-01
+     * @param key      the upper-cased ID of the camp
+     */
+    private record Deadline(long epochDay, String key) {
+    }
+
+    /**
+     * A camp with the dates its deadlines were scheduled from.
+     */
+    private static final class ScheduledCamp {
+
+        /**
+         * The latest version of the camp.
+         */
+        private Camp camp;
+
+        private final long closingEpochDay;
+
+        private final long endEpochDay;
+
+        /**
+         * The deadlines of the camp added to the queue, some of which may have passed.
+         */
+        private final List<Deadline> deadlines = new ArrayList<>(2);
+
+        ScheduledCamp(Camp camp, long closingEpochDay, long endEpochDay) {
+            this.camp = camp;
+            this.closingEpochDay = closingEpochDay;
+            this.endEpochDay = endEpochDay;
+        }
+
+        /**
+         * Adds a deadline of the camp to the queue.
+         *
+         * @param deadline the deadline
+         */
+        void add(Deadline deadline) {
+            deadlines.add(deadline);
+            DEADLINES.add(deadline);
+        }
+    }
+
+    /**
+     * Schedules the deadlines of the camps put in one camp repository.
+     */
+    private static final class Listener implements RepositoryListener<Camp> {
+
+        private final CampRepository repository;
+
+        Listener(CampRepository repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public void onPut(Camp camp) {
+            synchronized (CampDeadlineScheduler.class) {
+                if (repository == source) {
+                    schedule(camp);
+                }
+            }
+        }
+
+        @Override
+        public void onRemove(Camp camp) {
+            synchronized (CampDeadlineScheduler.class) {
+                if (repository == source) {
+                    unschedule(keyOf(camp.getID()));
+                }
+            }
+        }
+
+        @Override
+        public void onReset() {
+            synchronized (CampDeadlineScheduler.class) {
+                if (repository == source) {
+                    repository.removeListener(this);
+                    source = null;
+                }
+            }
+        }
+    }
+}
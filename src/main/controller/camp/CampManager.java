@@ -1,26 +1,40 @@
 package main.controller.camp;
 
+import main.controller.account.user.UserNameIndex;
 import main.model.camp.Camp;
+import main.model.camp.Waitlist;
 import main.model.user.Student;
 import main.model.user.Faculty;
 import main.model.user.Staff;
+import main.model.user.User;
+import main.repository.Repository.RepositoryRule;
+import main.repository.Transaction;
 import main.repository.camp.CampRepository;
-import main.repository.user.StaffRepository;
+import main.repository.camp.WaitlistRepository;
 import main.repository.user.StudentRepository;
 import main.utils.config.Location;
+import main.utils.exception.CampFullException;
 import main.utils.exception.ModelAlreadyExistsException;
 import main.utils.exception.ModelNotFoundException;
 import main.utils.iocontrol.CSVReader;
-import main.utils.parameters.EmptyID;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
 /**
  * Manages camps and provides functionalities for camp creation, updating, retrieval,
  * attendee registration, withdrawal, and loading from CSV resources.
  */
 public class CampManager {
+    /**
+     * The lock held while a camp's waitlist is looked up and created if it does not exist.
+     */
+    private static final Object WAITLIST_LOCK = new Object();
+
     /**
      * Updates the camp with the specified ID.
      *
@@ -54,10 +68,10 @@ public class CampManager {
     /**
      * Retrieves the list of available camps.
      *
-     * @return the list of available camps
+     * @return an unmodifiable list of available camps
      */
     public static List<Camp> viewAvailableCamps() {
-        return CampRepository.getInstance().findByRules(camp -> camp.getVisibility().equals("true"));
+        return FacultyCampViews.getAllVisibleCamps();
     }
 
     /**
@@ -93,7 +107,8 @@ public class CampManager {
     }
 
     /**
-     * Withdraws a student from a camp.
+     * Withdraws a student from a camp, giving back their attendee slot. The slot is then
+     * offered to the first eligible student on the camp's waitlist.
      *
      * @param campID    the ID of the camp
      * @param studentID the ID of the student
@@ -108,21 +123,39 @@ public class CampManager {
             throw new IllegalStateException("Student not found");
         }
 
-        student.removeACamp(campID);
-        student.addPCamp(campID);
-        camp.setFilledSlots(camp.getFilledSlots() - 1);
-        CampRepository.getInstance().update(camp);
-        StudentRepository.getInstance().update(student);
+        synchronized (student) {
+            if (!student.isAttendeeOf(campID)) {
+                return;
+            }
+            String previousAttendedCamps = student.getACamps();
+            String previousWithdrawnCamps = student.getPCamps();
+            student.removeACamp(campID);
+            student.addPCamp(campID);
+            SlotReservationService.releaseAttendeeSlot(camp);
+            try {
+                SlotReservationService.save(camp, () -> commit(camp, student));
+            } catch (RuntimeException e) {
+                student.setACamps(previousAttendedCamps);
+                student.setPCamps(previousWithdrawnCamps);
+                SlotReservationService.restoreAttendeeSlot(camp);
+                throw e;
+            }
+        }
+        CampMembershipIndex.removeAttendee(campID, student.getID());
+        promoteFromWaitlist(camp);
     }
 
     /**
-     * Registers a student for a camp.
+     * Registers a student for a camp. A free attendee slot is taken before anything is saved,
+     * so concurrent registrations never fill the camp beyond its capacity.
      *
      * @param campID    the ID of the camp
      * @param studentID the ID of the student
      * @throws ModelNotFoundException if the camp or student is not found
+     * @throws CampFullException      if every attendee slot of the camp is taken
      */
-    public static void registerCampAttendee(String campID, String studentID) throws ModelNotFoundException {
+    public static void registerCampAttendee(String campID, String studentID)
+            throws ModelNotFoundException, CampFullException {
         Camp camp = CampRepository.getInstance().getByID(campID);
         Student student;
         try {
@@ -131,21 +164,37 @@ public class CampManager {
             throw new IllegalStateException("Student not found");
         }
 
-        student.addACamp(campID);
-        camp.setFilledSlots(camp.getFilledSlots() + 1);
-
-        CampRepository.getInstance().update(camp);
-        StudentRepository.getInstance().update(student);
+        synchronized (student) {
+            if (student.isAttendeeOf(campID)) {
+                return;
+            }
+            if (!SlotReservationService.tryReserveAttendeeSlot(camp)) {
+                throw new CampFullException("Attendee slots of camp " + campID + " are maxed.");
+            }
+            student.addACamp(campID);
+            try {
+                SlotReservationService.save(camp, () -> commit(camp, student));
+            } catch (RuntimeException e) {
+                student.removeACamp(campID);
+                SlotReservationService.releaseAttendeeSlot(camp);
+                throw e;
+            }
+        }
+        CampMembershipIndex.addAttendee(campID, student.getID());
     }
 
     /**
-     * Registers a student as a camp committee member.
+     * Registers a student as a camp committee member. A free camp committee slot is taken
+     * before anything is saved, so concurrent registrations never fill the committee beyond
+     * its capacity.
      *
      * @param campID    the ID of the camp
      * @param studentID the ID of the student
      * @throws ModelNotFoundException if the camp or student is not found
+     * @throws CampFullException      if every camp committee slot of the camp is taken
      */
-    public static void registerCampCommittee(String campID, String studentID) throws ModelNotFoundException {
+    public static void registerCampCommittee(String campID, String studentID)
+            throws ModelNotFoundException, CampFullException {
         Camp camp = CampRepository.getInstance().getByID(campID);
         Student student;
         try {
@@ -154,12 +203,345 @@ public class CampManager {
             throw new IllegalStateException("Student not found");
         }
 
-        student.addCCamp(campID);
-        camp.setFilledCampCommSlots(camp.getFilledCampCommSlots() + 1);
+        synchronized (student) {
+            if (student.isCommitteeMemberOf(campID)) {
+                return;
+            }
+            if (!SlotReservationService.tryReserveCommitteeSlot(camp)) {
+                throw new CampFullException("Camp committee slots of camp " + campID + " are maxed.");
+            }
+            String previousCommitteeCamps = student.getCCamps();
+            student.addCCamp(campID);
+            try {
+                SlotReservationService.save(camp, () -> commit(camp, student));
+            } catch (RuntimeException e) {
+                student.setCCamps(previousCommitteeCamps);
+                SlotReservationService.releaseCommitteeSlot(camp);
+                throw e;
+            }
+        }
+        CampMembershipIndex.addCommitteeMember(campID, student.getID());
+    }
+
+    /**
+     * Adds a student to the back of a full camp's waitlist. If an attendee slot has been
+     * freed in the meantime, the waitlist is promoted straight away.
+     *
+     * @param campID    the ID of the camp
+     * @param studentID the ID of the student
+     * @return the position of the student on the waitlist, counting from one at the front,
+     *         or 0 if the student was registered for the camp straight away
+     * @throws ModelNotFoundException if the camp is not found
+     * @throws CampFullException      if the waitlist of the camp is full
+     */
+    public static int joinWaitlist(String campID, String studentID)
+            throws ModelNotFoundException, CampFullException {
+        Camp camp = CampRepository.getInstance().getByID(campID);
+        Waitlist waitlist = getOrCreateWaitlist(camp.getID());
+        synchronized (waitlist) {
+            if (!waitlist.contains(studentID)) {
+                if (!waitlist.offer(studentID)) {
+                    throw new CampFullException("Waitlist of camp " + campID + " is full.");
+                }
+                saveWaitlist(waitlist);
+            }
+        }
+        if (SlotReservationService.getFilledAttendeeSlots(camp) < camp.getTotalSlots()) {
+            promoteFromWaitlist(camp);
+        }
+        return waitlist.getPosition(studentID) < 0 ? 0 : waitlist.getPosition(studentID);
+    }
+
+    /**
+     * Removes a student from a camp's waitlist.
+     *
+     * @param campID    the ID of the camp
+     * @param studentID the ID of the student
+     * @return true if the student was on the waitlist, false otherwise
+     */
+    public static boolean leaveWaitlist(String campID, String studentID) {
+        Waitlist waitlist = getWaitlist(campID);
+        if (waitlist == null) {
+            return false;
+        }
+        synchronized (waitlist) {
+            if (!waitlist.remove(studentID)) {
+                return false;
+            }
+            saveWaitlist(waitlist);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the position of a student on a camp's waitlist.
+     *
+     * @param campID    the ID of the camp
+     * @param studentID the ID of the student
+     * @return the position of the student, counting from one at the front, or -1 if the
+     *         student is not on the waitlist
+     */
+    public static int getWaitlistPosition(String campID, String studentID) {
+        Waitlist waitlist = getWaitlist(campID);
+        return waitlist == null ? -1 : waitlist.getPosition(studentID);
+    }
+
+    /**
+     * Gives a free attendee slot of a camp to the first student on its waitlist who can still
+     * attend it. Students are taken off the front of the waitlist one at a time, and only the
+     * student taken is checked: a student who no longer matches the camp's faculty, whose
+     * registered camps now clash with it, or who has joined or withdrawn from it since
+     * joining the waitlist is dropped, and the next student is tried. The waitlist, the camp
+     * and the promoted student are saved in one transaction.
+     *
+     * @param camp the camp with a free attendee slot
+     * @return the promoted student, or null if no student was promoted
+     */
+    private static Student promoteFromWaitlist(Camp camp) {
+        Waitlist waitlist = getWaitlist(camp.getID());
+        if (waitlist == null) {
+            return null;
+        }
+        Student promoted = null;
+        boolean dropped = false;
+        synchronized (waitlist) {
+            String studentID;
+            while (promoted == null && (studentID = waitlist.poll()) != null) {
+                Student student;
+                try {
+                    student = StudentRepository.getInstance().getByID(studentID);
+                } catch (ModelNotFoundException e) {
+                    dropped = true;
+                    continue;
+                }
+                synchronized (student) {
+                    if (checkEnrolment(camp, student) != EnrolmentResult.Outcome.ENROLLED) {
+                        dropped = true;
+                        continue;
+                    }
+                    if (!SlotReservationService.tryReserveAttendeeSlot(camp)) {
+                        waitlist.pushFront(studentID);
+                        break;
+                    }
+                    student.addACamp(camp.getID());
+                    try {
+                        SlotReservationService.save(camp, () -> commit(camp, List.of(student), waitlist));
+                    } catch (RuntimeException e) {
+                        student.removeACamp(camp.getID());
+                        SlotReservationService.releaseAttendeeSlot(camp);
+                        waitlist.pushFront(studentID);
+                        throw e;
+                    }
+                    promoted = student;
+                }
+            }
+            if (promoted == null && dropped) {
+                saveWaitlist(waitlist);
+            }
+        }
+        if (promoted != null) {
+            CampMembershipIndex.addAttendee(camp.getID(), promoted.getID());
+        }
+        return promoted;
+    }
+
+    /**
+     * Checks whether a student can be enrolled in a camp as an attendee, leaving out the
+     * camp's free slots and registration closing date.
+     *
+     * @param camp    the camp
+     * @param student the student
+     * @return {@link EnrolmentResult.Outcome#ENROLLED} if the student can be enrolled, or
+     *         the reason the student cannot be enrolled
+     */
+    private static EnrolmentResult.Outcome checkEnrolment(Camp camp, Student student) {
+        String campID = camp.getID();
+        if (student.isAttendeeOf(campID)) {
+            return EnrolmentResult.Outcome.ALREADY_ENROLLED;
+        } else if (student.isCommitteeMemberOf(campID)) {
+            return EnrolmentResult.Outcome.CAMP_COMMITTEE;
+        } else if (student.hasWithdrawnFrom(campID)) {
+            return EnrolmentResult.Outcome.WITHDRAWN;
+        } else if (camp.getOpenTo() != Faculty.NTU && camp.getOpenTo() != student.getFaculty()) {
+            return EnrolmentResult.Outcome.FACULTY_MISMATCH;
+        } else if (CampSchedule.forStudent(student).clashesWith(camp)) {
+            return EnrolmentResult.Outcome.DATE_CLASH;
+        }
+        return EnrolmentResult.Outcome.ENROLLED;
+    }
+
+    /**
+     * Gets the waitlist of a camp.
+     *
+     * @param campID the ID of the camp
+     * @return the waitlist, or null if nobody has joined the camp's waitlist yet
+     */
+    private static Waitlist getWaitlist(String campID) {
+        try {
+            return WaitlistRepository.getInstance().getByID(campID);
+        } catch (ModelNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the waitlist of a camp, creating an empty one if it does not exist.
+     *
+     * @param campID the ID of the camp
+     * @return the waitlist
+     */
+    private static Waitlist getOrCreateWaitlist(String campID) {
+        synchronized (WAITLIST_LOCK) {
+            Waitlist waitlist = getWaitlist(campID);
+            if (waitlist == null) {
+                waitlist = new Waitlist(campID);
+                try {
+                    WaitlistRepository.getInstance().add(waitlist);
+                } catch (ModelAlreadyExistsException e) {
+                    throw new IllegalStateException(e.getMessage());
+                }
+            }
+            return waitlist;
+        }
+    }
+
+    /**
+     * Saves a waitlist.
+     *
+     * @param waitlist the waitlist
+     */
+    private static void saveWaitlist(Waitlist waitlist) {
+        try {
+            WaitlistRepository.getInstance().update(waitlist);
+        } catch (ModelNotFoundException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    /**
+     * Enrolls a batch of students in a camp as attendees. Every student is checked in one
+     * pass over the batch, in order: students who cannot attend the camp, and students left
+     * over once every attendee slot is taken, are reported and skipped. The camp and every
+     * enrolled student are then saved in one transaction, so the batch is saved with one
+     * write per repository rather than several per student.
+     * <p>
+     * The camp's registration closing date is not checked, since batches are enrolled by
+     * staff.
+     *
+     * @param campID     the ID of the camp
+     * @param studentIDs the IDs of the students
+     * @return the result of each student, in the order of the batch
+     * @throws ModelNotFoundException if the camp is not found
+     */
+    public static List<EnrolmentResult> registerCampAttendees(String campID, List<String> studentIDs)
+            throws ModelNotFoundException {
+        Camp camp = CampRepository.getInstance().getByID(campID);
+        List<EnrolmentResult> results = new ArrayList<>(studentIDs.size());
+        List<Student> enrolled = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String studentID : studentIDs) {
+            EnrolmentResult.Outcome outcome;
+            Student student = null;
+            if (!seen.add(studentID.toUpperCase(Locale.ROOT))) {
+                outcome = EnrolmentResult.Outcome.DUPLICATE;
+            } else {
+                try {
+                    student = StudentRepository.getInstance().getByID(studentID);
+                    outcome = null;
+                } catch (ModelNotFoundException e) {
+                    outcome = EnrolmentResult.Outcome.STUDENT_NOT_FOUND;
+                }
+            }
+            if (student != null) {
+                synchronized (student) {
+                    outcome = checkEnrolment(camp, student);
+                    if (outcome == EnrolmentResult.Outcome.ENROLLED) {
+                        if (SlotReservationService.tryReserveAttendeeSlot(camp)) {
+                            student.addACamp(camp.getID());
+                            enrolled.add(student);
+                        } else {
+                            outcome = EnrolmentResult.Outcome.CAMP_FULL;
+                        }
+                    }
+                }
+            }
+            results.add(new EnrolmentResult(studentID, outcome));
+        }
+        if (enrolled.isEmpty()) {
+            return results;
+        }
+        try {
+            SlotReservationService.save(camp, () -> commit(camp, enrolled, null));
+        } catch (RuntimeException e) {
+            for (Student student : enrolled) {
+                synchronized (student) {
+                    student.removeACamp(camp.getID());
+                }
+                SlotReservationService.releaseAttendeeSlot(camp);
+            }
+            throw e;
+        }
+        for (Student student : enrolled) {
+            CampMembershipIndex.addAttendee(camp.getID(), student.getID());
+        }
+        return results;
+    }
+
+    /**
+     * Enrolls the students listed in a CSV file in a camp as attendees, as
+     * {@link #registerCampAttendees(String, List)} does. The student IDs are read from the
+     * first column of the file, which may start with a header row naming that column
+     * {@code studentID} or {@code userID}.
+     *
+     * @param campID   the ID of the camp
+     * @param filePath the path of the CSV file
+     * @return the result of each student, in the order of the file
+     * @throws ModelNotFoundException if the camp is not found
+     */
+    public static List<EnrolmentResult> registerCampAttendeesFromCSV(String campID, String filePath)
+            throws ModelNotFoundException {
+        List<String> studentIDs = new ArrayList<>();
+        for (List<String> row : CSVReader.read(filePath, false)) {
+            String studentID = row.get(0);
+            if (studentIDs.isEmpty() && (studentID.equalsIgnoreCase("studentID") || studentID.equalsIgnoreCase("userID"))) {
+                continue;
+            }
+            studentIDs.add(studentID);
+        }
+        return registerCampAttendees(campID, studentIDs);
+    }
 
-        CampRepository.getInstance().update(camp);
-        StudentRepository.getInstance().update(student);
-        // CampManager.updatecampsStatus();
+    /**
+     * Saves a camp and a student together in one transaction.
+     *
+     * @param camp    the camp
+     * @param student the student
+     */
+    private static void commit(Camp camp, Student student) {
+        commit(camp, List.of(student), null);
+    }
+
+    /**
+     * Saves a camp, some students and the camp's waitlist together in one transaction.
+     *
+     * @param camp     the camp
+     * @param students the students
+     * @param waitlist the waitlist of the camp, or null to leave it unsaved
+     */
+    private static void commit(Camp camp, List<Student> students, Waitlist waitlist) {
+        Transaction transaction = new Transaction();
+        try {
+            transaction.update(CampRepository.getInstance(), camp);
+            for (Student student : students) {
+                transaction.update(StudentRepository.getInstance(), student);
+            }
+            if (waitlist != null) {
+                transaction.update(WaitlistRepository.getInstance(), waitlist);
+            }
+        } catch (ModelNotFoundException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+        transaction.commit();
     }
 
 
@@ -172,7 +554,12 @@ public class CampManager {
             try {
                 String staffName = camp.get(10);
                 String campName = camp.get(0);
-                List<Staff> staff = StaffRepository.getInstance().findByRules(s -> s.checkUsername(staffName));
+                List<Staff> staff = new ArrayList<>();
+                for (User user : UserNameIndex.getUsersByName(staffName)) {
+                    if (user instanceof Staff s) {
+                        staff.add(s);
+                    }
+                }
 
                 Faculty faculty = Faculty.NTU;
 
@@ -236,28 +623,20 @@ public class CampManager {
     * @return a map of camps and their associated roles, or null if no camps are associated.
     */
     public static Map<Camp, String> getStudentcamps(Student student) {
-        if (EmptyID.isEmptyID(student.getCCamps()) && EmptyID.isEmptyID(student.getACamps())) {
+        if (student.getCommitteeCamps().isEmpty() && student.getAttendedCamps().isEmpty()) {
             return null;
         } else {
             try {
                 Map<Camp, String> camps = new HashMap<>();
 
-                String cCamp;
-                String aCamps;
-
-                if (!EmptyID.isEmptyID(student.getCCamps())) {
-                    cCamp = student.getCCamps();
-                    Camp camp = CampRepository.getInstance().getByID(cCamp);
-                    camps.put(camp, "Committee"); // Replace "Associated String" with the actual associated string
+                for (String campId : student.getCommitteeCamps()) {
+                    Camp camp = CampRepository.getInstance().getByID(campId);
+                    camps.put(camp, "Committee");
                 }
 
-                if (!EmptyID.isEmptyID(student.getACamps())) {
-                    aCamps = student.getACamps();
-                    String[] aCampsArray = aCamps.split(",");
-                    for (String campId : aCampsArray) {
-                        Camp camp = CampRepository.getInstance().getByID(campId);
-                        camps.put(camp, "Attendee"); // Replace "Associated String" with the actual associated string
-                    }
+                for (String campId : student.getAttendedCamps()) {
+                    Camp camp = CampRepository.getInstance().getByID(campId);
+                    camps.put(camp, "Attendee");
                 }
 
                 return camps;
@@ -281,10 +660,10 @@ public class CampManager {
     /**
     * Retrieves all available camps.
     *
-    * @return a list of all available camps.
+    * @return an unmodifiable list of all available camps.
     */
     public static List<Camp> getAllVisibleCamps() {
-        return CampRepository.getInstance().findByRules(p -> p.getVisibility().equals("true"));
+        return FacultyCampViews.getAllVisibleCamps();
     }
 
     /**
@@ -293,22 +672,54 @@ public class CampManager {
     * @return a list of all invisible camps.
     */
     public static List<Camp> getAllInvisibleCamps() {
-        return CampRepository.getInstance().findByRules(p -> p.getVisibility().equals("false"));
+        return CampRepository.getInstance().findByRules(RepositoryRule.fieldEquals("visibility", "false"));
     }
 
     /**
     * Retrieves camps available to a student based on their faculty.
     *
     * @param student the student for whom to retrieve camps.
-    * @return a list of camps available to the student.
+    * @return an unmodifiable list of camps available to the student.
     */
     public static List<Camp> getCampsForStudent(Student student) {
-        String studentFaculty = student.getFaculty().toString();
+        return FacultyCampViews.getVisibleCamps(student.getFaculty());
+    }
 
-        return CampRepository.getInstance().findByRules(camp ->
-                camp.getVisibility().equals("true") &&
-                (camp.getOpenTo().toString().equals("NTU") || camp.getOpenTo().toString().equals(studentFaculty))
-        );
+    /**
+    * Searches the camps available to a student by the words of their name, location and
+    * description.
+    *
+    * @param student the student searching.
+    * @param query   the words to search for.
+    * @param limit   the largest number of camps to return.
+    * @return the best matching camps available to the student, best first.
+    */
+    public static List<Camp> searchCampsForStudent(Student student, String query, int limit) {
+        Faculty faculty = student.getFaculty();
+        return CampSearchIndex.search(query, limit, camp -> FacultyCampViews.isAvailableTo(camp, faculty));
+    }
+
+    /**
+    * Retrieves the camps a student can still register for as an attendee: visible camps
+    * open to the student's faculty, whose registration has not closed and which have free
+    * attendee slots, excluding camps the student is already in or has withdrawn from and
+    * camps clashing with the student's registered camps.
+    *
+    * @param student the student for whom to retrieve camps.
+    * @return a list of camps the student can join.
+    */
+    public static List<Camp> getJoinableCamps(Student student) {
+        CampSchedule schedule = CampSchedule.forStudent(student);
+        List<Camp> camps = new ArrayList<>();
+        for (Camp camp : FacultyCampViews.getVisibleCamps(student.getFaculty())) {
+            if (camp.getFilledSlots() < camp.getTotalSlots()
+                    && !student.isAttendeeOf(camp.getID()) && !student.isCommitteeMemberOf(camp.getID())
+                    && !student.hasWithdrawnFrom(camp.getID())
+                    && !schedule.clashesWith(camp)) {
+                camps.add(camp);
+            }
+        }
+        return camps;
     }
 
     /**
@@ -318,7 +729,7 @@ public class CampManager {
     * @return a list of camps associated with the staff member.
     */
     public static List<Camp> getAllCampsByStaff(Staff staff) {
-        return CampRepository.getInstance().findByRules(c -> c.getStaffID().equals(staff.getID()));
+        return CampRepository.getInstance().findByRules(RepositoryRule.fieldEquals("staffID", staff.getID()));
     }
 
 
@@ -0,0 +1,236 @@
+package main.controller.camp;
+
+import main.model.user.Student;
+import main.repository.user.StudentRepository;
+import main.utils.exception.ModelNotFoundException;
+import main.utils.parameters.EmptyID;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the camp memberships of students in both directions: from each camp to the IDs of
+ * its attendees and committee members, and from each student to the IDs of the camps they
+ * attend or serve on the committee of.
+ * <p>
+ * The index is built from the student repository on first use and kept up to date by the
+ * register and withdraw operations of {@link CampManager}. It is rebuilt whenever the student
+ * repository has been reopened since it was built. Camp and student IDs are matched exactly,
+ * ignoring case, so camp C1 never matches the members of camp C10.
+ */
+public class CampMembershipIndex {
+    /**
+     * The attendees of each camp.
+     */
+    private static final Membership ATTENDEES = new Membership();
+
+    /**
+     * The committee members of each camp.
+     */
+    private static final Membership COMMITTEE = new Membership();
+
+    /**
+     * The student repository the index was built from, or null if it has not been built.
+     */
+    private static StudentRepository source = null;
+
+    private CampMembershipIndex() {
+    }
+
+    /**
+     * Retrieves the attendees of a camp.
+     *
+     * @param campID the ID of the camp
+     * @return the attendees of the camp
+     */
+    public static synchronized List<Student> getAttendees(String campID) {
+        return getStudents(getIndex(ATTENDEES).getStudentIDs(campID));
+    }
+
+    /**
+     * Retrieves the camp committee members of a camp.
+     *
+     * @param campID the ID of the camp
+     * @return the camp committee members of the camp
+     */
+    public static synchronized List<Student> getCommitteeMembers(String campID) {
+        return getStudents(getIndex(COMMITTEE).getStudentIDs(campID));
+    }
+
+    /**
+     * Retrieves the IDs of the attendees of a camp.
+     *
+     * @param campID the ID of the camp
+     * @return the IDs of the attendees, in the order they were indexed
+     */
+    public static synchronized List<String> getAttendeeIDs(String campID) {
+        return new ArrayList<>(getIndex(ATTENDEES).getStudentIDs(campID));
+    }
+
+    /**
+     * Retrieves the IDs of the camp committee members of a camp.
+     *
+     * @param campID the ID of the camp
+     * @return the IDs of the camp committee members, in the order they were indexed
+     */
+    public static synchronized List<String> getCommitteeIDs(String campID) {
+        return new ArrayList<>(getIndex(COMMITTEE).getStudentIDs(campID));
+    }
+
+    /**
+     * Retrieves the IDs of the camps a student attends.
+     *
+     * @param studentID the ID of the student
+     * @return the IDs of the camps, in the order they were indexed
+     */
+    public static synchronized List<String> getAttendedCampIDs(String studentID) {
+        return new ArrayList<>(getIndex(ATTENDEES).getCampIDs(studentID));
+    }
+
+    /**
+     * Retrieves the IDs of the camps a student is a camp committee member of.
+     *
+     * @param studentID the ID of the student
+     * @return the IDs of the camps, in the order they were indexed
+     */
+    public static synchronized List<String> getCommitteeCampIDs(String studentID) {
+        return new ArrayList<>(getIndex(COMMITTEE).getCampIDs(studentID));
+    }
+
+    /**
+     * Records that a student has registered as an attendee of a camp.
+     *
+     * @param campID    the ID of the camp
+     * @param studentID the ID of the student
+     */
+    static synchronized void addAttendee(String campID, String studentID) {
+        getIndex(ATTENDEES).add(campID, studentID);
+    }
+
+    /**
+     * Records that a student has withdrawn as an attendee of a camp.
+     *
+     * @param campID    the ID of the camp
+     * @param studentID the ID of the student
+     */
+    static synchronized void removeAttendee(String campID, String studentID) {
+        getIndex(ATTENDEES).remove(campID, studentID);
+    }
+
+    /**
+     * Records that a student has registered as a camp committee member of a camp. A student
+     * is on the committee of at most one camp, so any earlier committee camp is replaced.
+     *
+     * @param campID    the ID of the camp
+     * @param studentID the ID of the student
+     */
+    static synchronized void addCommitteeMember(String campID, String studentID) {
+        Membership committee = getIndex(COMMITTEE);
+        for (String oldCampID : new ArrayList<>(committee.getCampIDs(studentID))) {
+            committee.remove(oldCampID, studentID);
+        }
+        committee.add(campID, studentID);
+    }
+
+    /**
+     * Gets one direction of the index, first rebuilding the index if the student repository
+     * has been reopened since it was built.
+     *
+     * @param membership the membership to get
+     * @return the membership
+     */
+    private static Membership getIndex(Membership membership) {
+        StudentRepository studentRepository = StudentRepository.getInstance();
+        if (studentRepository != source) {
+            ATTENDEES.clear();
+            COMMITTEE.clear();
+            for (Student student : studentRepository) {
+                for (String campID : student.getAttendedCamps()) {
+                    ATTENDEES.add(campID, student.getID());
+                }
+                for (String campID : student.getCommitteeCamps()) {
+                    COMMITTEE.add(campID, student.getID());
+                }
+            }
+            source = studentRepository;
+        }
+        return membership;
+    }
+
+    /**
+     * Looks up students by ID, skipping any that no longer exist.
+     *
+     * @param studentIDs the IDs of the students
+     * @return the students
+     */
+    private static List<Student> getStudents(Set<String> studentIDs) {
+        List<Student> students = new ArrayList<>(studentIDs.size());
+        for (String studentID : studentIDs) {
+            try {
+                students.add(StudentRepository.getInstance().getByID(studentID));
+            } catch (ModelNotFoundException e) {
+                // The student has been removed since the index was built.
+            }
+        }
+        return students;
+    }
+
+    /**
+     * One kind of camp membership, indexed in both directions.
+     */
+    private static class Membership {
+        private final Map<String, Set<String>> studentIDsByCamp = new HashMap<>();
+        private final Map<String, Set<String>> campIDsByStudent = new HashMap<>();
+
+        void add(String campID, String studentID) {
+            if (EmptyID.isEmptyID(campID) || EmptyID.isEmptyID(studentID)) {
+                return;
+            }
+            campID = campID.trim();
+            studentIDsByCamp.computeIfAbsent(normalise(campID), id -> new LinkedHashSet<>()).add(studentID);
+            campIDsByStudent.computeIfAbsent(normalise(studentID), id -> new LinkedHashSet<>()).add(campID);
+        }
+
+        void remove(String campID, String studentID) {
+            if (EmptyID.isEmptyID(campID) || EmptyID.isEmptyID(studentID)) {
+                return;
+            }
+            campID = campID.trim();
+            removeFrom(studentIDsByCamp, normalise(campID), studentID);
+            removeFrom(campIDsByStudent, normalise(studentID), campID);
+        }
+
+        Set<String> getStudentIDs(String campID) {
+            return studentIDsByCamp.getOrDefault(normalise(campID), Collections.emptySet());
+        }
+
+        Set<String> getCampIDs(String studentID) {
+            return campIDsByStudent.getOrDefault(normalise(studentID), Collections.emptySet());
+        }
+
+        void clear() {
+            studentIDsByCamp.clear();
+            campIDsByStudent.clear();
+        }
+
+        private static void removeFrom(Map<String, Set<String>> map, String key, String value) {
+            Set<String> values = map.get(key);
+            if (values != null) {
+                values.removeIf(v -> v.equalsIgnoreCase(value));
+                if (values.isEmpty()) {
+                    map.remove(key);
+                }
+            }
+        }
+
+        private static String normalise(String id) {
+            return id == null ? null : id.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package main.controller.camp;
+
+import main.model.camp.Camp;
+import main.model.camp.CampIDSet;
+import main.model.user.Student;
+import main.repository.camp.CampRepository;
+import main.utils.exception.ModelNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The date ranges of the camps a student is registered for, as attendee or camp committee
+ * member, arranged so that checking whether another camp clashes with any of them is a
+ * single O(log n) query.
+ * <p>
+ * The ranges are sorted by their first day, and each position also holds the latest last day
+ * of the ranges up to it. A range clashes with the schedule if and only if, among the ranges
+ * starting no later than its last day, the latest last day is no earlier than its first day,
+ * which is one binary search.
+ * <p>
+ * The schedule of each student is cached, and rebuilt when the camps the student is
+ * registered for or the camp repository have changed.
+ */
+public final class CampSchedule {
+    /**
+     * The cached schedule of each student, keyed by student ID.
+     */
+    private static final Map<String, CachedSchedule> CACHE = new HashMap<>();
+
+    /**
+     * The first day of each range, in increasing order.
+     */
+    private final long[] startEpochDays;
+
+    /**
+     * The latest last day of the ranges up to each position.
+     */
+    private final long[] maxEndEpochDays;
+
+    private CampSchedule(long[] startEpochDays, long[] maxEndEpochDays) {
+        this.startEpochDays = startEpochDays;
+        this.maxEndEpochDays = maxEndEpochDays;
+    }
+
+    /**
+     * Gets the schedule of the camps a student is registered for.
+     *
+     * @param student the student
+     * @return the schedule of the student
+     */
+    public static synchronized CampSchedule forStudent(Student student) {
+        CampRepository campRepository = CampRepository.getInstance();
+        CachedSchedule cached = CACHE.get(student.getID());
+        if (cached != null && cached.isFor(student, campRepository)) {
+            return cached.schedule();
+        }
+        List<Camp> camps = new ArrayList<>();
+        addCamps(camps, student.getAttendedCamps(), campRepository);
+        addCamps(camps, student.getCommitteeCamps(), campRepository);
+        CampSchedule schedule = of(camps);
+        CACHE.put(student.getID(), new CachedSchedule(student.getAttendedCamps(), student.getCommitteeCamps(),
+                campRepository, campRepository.getVersion(), schedule));
+        return schedule;
+    }
+
+    /**
+     * Creates the schedule of a list of camps. Camps whose dates cannot be parsed are left out.
+     *
+     * @param camps the camps
+     * @return the schedule of the camps
+     */
+    public static CampSchedule of(List<Camp> camps) {
+        List<Camp> datedCamps = new ArrayList<>(camps.size());
+        for (Camp camp : camps) {
+            if (camp.hasValidDates()) {
+                datedCamps.add(camp);
+            }
+        }
+        datedCamps.sort((a, b) -> Long.compare(a.getStartEpochDay(), b.getStartEpochDay()));
+        long[] startEpochDays = new long[datedCamps.size()];
+        long[] maxEndEpochDays = new long[datedCamps.size()];
+        long maxEndEpochDay = Long.MIN_VALUE;
+        for (int i = 0; i < datedCamps.size(); i++) {
+            startEpochDays[i] = datedCamps.get(i).getStartEpochDay();
+            maxEndEpochDay = Math.max(maxEndEpochDay, datedCamps.get(i).getEndEpochDay());
+            maxEndEpochDays[i] = maxEndEpochDay;
+        }
+        return new CampSchedule(startEpochDays, maxEndEpochDays);
+    }
+
+    /**
+     * Checks whether a camp clashes with any camp in the schedule. A camp whose dates cannot
+     * be parsed clashes with nothing.
+     *
+     * @param camp the camp
+     * @return true if the camp overlaps a camp in the schedule, false otherwise
+     */
+    public boolean clashesWith(Camp camp) {
+        return camp.hasValidDates() && overlaps(camp.getStartEpochDay(), camp.getEndEpochDay());
+    }
+
+    /**
+     * Checks whether a range of days overlaps any camp in the schedule.
+     *
+     * @param fromEpochDay the first day of the range, as a count of days since 1970-01-01
+     * @param toEpochDay   the last day of the range, as a count of days since 1970-01-01
+     * @return true if the range overlaps a camp in the schedule, false otherwise
+     */
+    public boolean overlaps(long fromEpochDay, long toEpochDay) {
+        int position = Arrays.binarySearch(startEpochDays, toEpochDay);
+        if (position >= 0) {
+            while (position + 1 < startEpochDays.length && startEpochDays[position + 1] == toEpochDay) {
+                position++;
+            }
+        } else {
+            position = -position - 2;
+        }
+        return position >= 0 && maxEndEpochDays[position] >= fromEpochDay;
+    }
+
+    /**
+     * Gets the number of camps in the schedule.
+     *
+     * @return the number of camps
+     */
+    public int size() {
+        return startEpochDays.length;
+    }
+
+    private static void addCamps(List<Camp> camps, Iterable<String> campIDs, CampRepository campRepository) {
+        for (String campID : campIDs) {
+            try {
+                camps.add(campRepository.getByID(campID));
+            } catch (ModelNotFoundException e) {
+                // A camp that no longer exists cannot clash.
+            }
+        }
+    }
+
+    /**
+     * A schedule together with what it was built from.
+     */
+    private record CachedSchedule(CampIDSet attendedCamps, CampIDSet committeeCamps, CampRepository campRepository,
+                                  long campVersion, CampSchedule schedule) {
+
+        boolean isFor(Student student, CampRepository currentCampRepository) {
+            return attendedCamps == student.getAttendedCamps() && committeeCamps == student.getCommitteeCamps()
+                    && campRepository == currentCampRepository && campVersion == currentCampRepository.getVersion();
+        }
+    }
+}
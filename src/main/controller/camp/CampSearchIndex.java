@@ -0,0 +1,314 @@
+package main.controller.camp;
+
+import main.model.camp.Camp;
+import main.repository.RepositoryListener;
+import main.repository.camp.CampRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Searches camps by the words of their name, location and description.
+ * <p>
+ * The index is inverted: it maps each word, case-folded, to the camps it appears in and how
+ * often, weighted by the field it appears in. The words are kept sorted, so the camps matching
+ * a word prefix are found from the range of words starting with it rather than by checking
+ * every camp. A query is split into words in the same way as the camps, every query word
+ * matches the indexed words it is a prefix of, and each camp is ranked by the sum over the
+ * query words of the weighted count of its matching words times their inverse document
+ * frequency, so rarer words count for more and whole-word matches count for more than prefix
+ * matches. The best results are kept in a heap bounded by the number asked for.
+ * <p>
+ * The index is built from the camp repository on first use and then kept up to date one camp
+ * at a time as camps are created, updated and deleted, through a {@link RepositoryListener}
+ * on the repository. It is rebuilt whenever the camp repository has been reopened or reloaded.
+ */
+public class CampSearchIndex {
+    /**
+     * The weight of a word in the name of a camp.
+     */
+    private static final int NAME_WEIGHT = 3;
+
+    /**
+     * The weight of a word in the location of a camp.
+     */
+    private static final int LOCATION_WEIGHT = 2;
+
+    /**
+     * The weight of a word in the description of a camp.
+     */
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    /**
+     * The share of the score a query word earns from an indexed word it is only a prefix of.
+     */
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    /**
+     * The largest number of indexed words a query word is expanded to, so that a very short
+     * prefix cannot make a query visit most of the index.
+     */
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    /**
+     * The weighted count of each word in each camp, keyed by word and then by upper-cased
+     * camp ID.
+     */
+    private static final NavigableMap<String, Map<String, Integer>> POSTINGS = new TreeMap<>();
+
+    /**
+     * The weighted count of each word of each indexed camp, keyed by upper-cased camp ID, so
+     * that a camp can be taken out of the postings when it changes.
+     */
+    private static final Map<String, Map<String, Integer>> CAMP_WORDS = new HashMap<>();
+
+    /**
+     * The indexed camps, keyed by upper-cased camp ID.
+     */
+    private static final Map<String, Camp> CAMPS = new HashMap<>();
+
+    /**
+     * The camp repository the index was built from, or null if it has not been built.
+     */
+    private static CampRepository source = null;
+
+    /**
+     * The listener keeping the index up to date with the source, or null if it has not been
+     * built.
+     */
+    private static Listener listener = null;
+
+    private CampSearchIndex() {
+    }
+
+    /**
+     * Searches every camp.
+     *
+     * @param query the words to search for
+     * @param limit the largest number of camps to return
+     * @return the best matching camps, best first
+     */
+    public static List<Camp> search(String query, int limit) {
+        return search(query, limit, camp -> true);
+    }
+
+    /**
+     * Searches the camps accepted by a filter.
+     *
+     * @param query  the words to search for
+     * @param limit  the largest number of camps to return
+     * @param filter the camps that may be returned
+     * @return the best matching camps accepted by the filter, best first
+     */
+    public static synchronized List<Camp> search(String query, int limit, Predicate<Camp> filter) {
+        refresh();
+        List<String> queryWords = tokenise(query);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        Map<String, Double> scores = new HashMap<>();
+        for (String queryWord : queryWords) {
+            int expansions = 0;
+            for (Map.Entry<String, Map<String, Integer>> entry : prefixRange(queryWord).entrySet()) {
+                if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                double weight = inverseDocumentFrequency(entry.getValue().size())
+                        * (entry.getKey().equals(queryWord) ? 1 : PREFIX_MATCH_FACTOR);
+                for (Map.Entry<String, Integer> posting : entry.getValue().entrySet()) {
+                    scores.merge(posting.getKey(), posting.getValue() * weight, Double::sum);
+                }
+            }
+        }
+
+        Comparator<Map.Entry<String, Double>> ranking = Map.Entry.<String, Double>comparingByValue()
+                .thenComparing(Map.Entry.<String, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            if (best.size() == limit && ranking.compare(score, best.peek()) <= 0) {
+                continue;
+            }
+            if (!filter.test(CAMPS.get(score.getKey()))) {
+                continue;
+            }
+            best.add(score);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Camp> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(CAMPS.get(best.poll().getKey()));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Splits text into case-folded words of letters and digits.
+     *
+     * @param text the text
+     * @return the words, in order
+     */
+    static List<String> tokenise(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordCharacter && start < 0) {
+                start = i;
+            } else if (!wordCharacter && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Gets the postings of the indexed words starting with a prefix.
+     *
+     * @param prefix the prefix
+     * @return the postings, keyed by word in alphabetical order
+     */
+    private static NavigableMap<String, Map<String, Integer>> prefixRange(String prefix) {
+        return POSTINGS.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Gets the inverse document frequency of a word.
+     *
+     * @param campCount the number of camps the word appears in
+     * @return the inverse document frequency
+     */
+    private static double inverseDocumentFrequency(int campCount) {
+        return Math.log(1 + (double) CAMPS.size() / campCount);
+    }
+
+    /**
+     * Rebuilds the index if the camp repository has been reopened or reloaded since it was
+     * built.
+     */
+    private static void refresh() {
+        CampRepository repository = CampRepository.getInstance();
+        if (repository == source) {
+            return;
+        }
+        if (source != null) {
+            source.removeListener(listener);
+        }
+        POSTINGS.clear();
+        CAMP_WORDS.clear();
+        CAMPS.clear();
+        for (Camp camp : repository) {
+            put(camp);
+        }
+        source = repository;
+        listener = new Listener(repository);
+        repository.addListener(listener);
+    }
+
+    /**
+     * Indexes a camp, replacing the camp with the same ID.
+     *
+     * @param camp the camp
+     */
+    private static void put(Camp camp) {
+        String campID = camp.getID().toUpperCase(Locale.ROOT);
+        remove(campID);
+        Map<String, Integer> words = new HashMap<>();
+        addWords(words, camp.getCampName(), NAME_WEIGHT);
+        addWords(words, camp.getLocation(), LOCATION_WEIGHT);
+        addWords(words, camp.getDescription(), DESCRIPTION_WEIGHT);
+        for (Map.Entry<String, Integer> word : words.entrySet()) {
+            POSTINGS.computeIfAbsent(word.getKey(), key -> new HashMap<>()).put(campID, word.getValue());
+        }
+        CAMP_WORDS.put(campID, words);
+        CAMPS.put(campID, camp);
+    }
+
+    /**
+     * Takes a camp out of the index.
+     *
+     * @param campID the upper-cased ID of the camp
+     */
+    private static void remove(String campID) {
+        Map<String, Integer> words = CAMP_WORDS.remove(campID);
+        CAMPS.remove(campID);
+        if (words == null) {
+            return;
+        }
+        for (String word : words.keySet()) {
+            Map<String, Integer> postings = POSTINGS.get(word);
+            postings.remove(campID);
+            if (postings.isEmpty()) {
+                POSTINGS.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Adds the words of one field of a camp to the weighted counts of its words.
+     *
+     * @param words  the weighted count of each word of the camp
+     * @param text   the text of the field
+     * @param weight the weight of the field
+     */
+    private static void addWords(Map<String, Integer> words, String text, int weight) {
+        for (String word : tokenise(text)) {
+            words.merge(word, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Keeps the index up to date with the changes made to one camp repository.
+     */
+    private static final class Listener implements RepositoryListener<Camp> {
+
+        private final CampRepository repository;
+
+        Listener(CampRepository repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public void onPut(Camp camp) {
+            synchronized (CampSearchIndex.class) {
+                if (repository == source) {
+                    put(camp);
+                }
+            }
+        }
+
+        @Override
+        public void onRemove(Camp camp) {
+            synchronized (CampSearchIndex.class) {
+                if (repository == source) {
+                    remove(camp.getID().toUpperCase(Locale.ROOT));
+                }
+            }
+        }
+
+        @Override
+        public void onReset() {
+            synchronized (CampSearchIndex.class) {
+                if (repository == source) {
+                    repository.removeListener(this);
+                    source = null;
+                }
+            }
+        }
+    }
+}
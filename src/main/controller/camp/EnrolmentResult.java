@@ -0,0 +1,48 @@
+package main.controller.camp;
+
+/**
+ * The result of enrolling one student in a camp as part of a batch enrolment.
+ *
+ * @param studentID the ID of the student, as given in the batch
+ * @param outcome   whether the student was enrolled, and why not if they were not
+ */
+public record EnrolmentResult(String studentID, Outcome outcome) {
+    /**
+     * The outcomes of enrolling one student.
+     */
+    public enum Outcome {
+        ENROLLED("Enrolled"),
+        ALREADY_ENROLLED("Already an attendee of this camp"),
+        DUPLICATE("Listed more than once in the batch"),
+        STUDENT_NOT_FOUND("No student with this ID"),
+        CAMP_COMMITTEE("Already a camp committee member of this camp"),
+        WITHDRAWN("Withdrew from this camp previously"),
+        FACULTY_MISMATCH("Faculty does not match the camp"),
+        DATE_CLASH("Camp dates clash with the student's registered camps"),
+        CAMP_FULL("No attendee slot left");
+
+        private final String description;
+
+        Outcome(String description) {
+            this.description = description;
+        }
+
+        /**
+         * Gets the description of the outcome shown in a result report.
+         *
+         * @return the description of the outcome
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * Checks whether the student was enrolled by the batch.
+     *
+     * @return true if the student was enrolled, false otherwise
+     */
+    public boolean isEnrolled() {
+        return outcome == Outcome.ENROLLED;
+    }
+}
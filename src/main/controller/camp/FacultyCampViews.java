@@ -0,0 +1,254 @@
+package main.controller.camp;
+
+import main.model.camp.Camp;
+import main.model.user.Faculty;
+import main.repository.RepositoryListener;
+import main.repository.camp.CampRepository;
+import main.utils.exception.ModelNotFoundException;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keeps the visible camps each faculty's students can see: for every {@link Faculty}, the
+ * visible camps open to that faculty or to the whole of NTU whose registration is still open.
+ * The view of {@link Faculty#NTU} itself holds the open camps open to the whole of NTU, and a
+ * separate view holds every visible camp, whatever its phase, for staff.
+ * <p>
+ * The views are built from the camp repository on first use and then kept up to date one
+ * camp at a time as camps are created, updated, hidden, shown and deleted, through a
+ * {@link RepositoryListener} on the repository, and as their registration closes or they
+ * finish, through the {@link CampDeadlineScheduler}. They are rebuilt whenever the camp
+ * repository has been reopened or reloaded. A view is returned as an unmodifiable list that
+ * is shared until the view next changes, so fetching an unchanged view takes constant time;
+ * callers must copy it before sorting it.
+ */
+public class FacultyCampViews {
+    /**
+     * The visible camps open to each faculty or to the whole of NTU.
+     */
+    private static final Map<Faculty, View> FACULTY_VIEWS = new EnumMap<>(Faculty.class);
+
+    /**
+     * Every visible camp.
+     */
+    private static final View VISIBLE_CAMPS = new View();
+
+    /**
+     * The camp repository the views were built from, or null if they have not been built.
+     */
+    private static CampRepository source = null;
+
+    /**
+     * The listener keeping the views up to date with the source, or null if they have not
+     * been built.
+     */
+    private static Listener listener = null;
+
+    static {
+        for (Faculty faculty : Faculty.values()) {
+            FACULTY_VIEWS.put(faculty, new View());
+        }
+        CampDeadlineScheduler.addPhaseListener(FacultyCampViews::onPhaseChange);
+    }
+
+    private FacultyCampViews() {
+    }
+
+    /**
+     * Retrieves the visible camps open to a faculty or to the whole of NTU whose registration
+     * is still open.
+     *
+     * @param faculty the faculty
+     * @return an unmodifiable list of the camps, in the order they were added to the view
+     */
+    public static synchronized List<Camp> getVisibleCamps(Faculty faculty) {
+        refresh();
+        return FACULTY_VIEWS.get(faculty).getCamps();
+    }
+
+    /**
+     * Retrieves every visible camp.
+     *
+     * @return an unmodifiable list of the camps, in the order they were added to the view
+     */
+    public static synchronized List<Camp> getAllVisibleCamps() {
+        refresh();
+        return VISIBLE_CAMPS.getCamps();
+    }
+
+    /**
+     * Rebuilds the views if the camp repository has been reopened or reloaded since they
+     * were built, then updates the camps whose deadlines have passed since.
+     */
+    private static void refresh() {
+        CampRepository repository = CampRepository.getInstance();
+        if (repository != source) {
+            rebuild(repository);
+        }
+        CampDeadlineScheduler.advance();
+    }
+
+    /**
+     * Rebuilds the views from a camp repository.
+     *
+     * @param repository the camp repository
+     */
+    private static void rebuild(CampRepository repository) {
+        if (source != null) {
+            source.removeListener(listener);
+        }
+        VISIBLE_CAMPS.clear();
+        for (View view : FACULTY_VIEWS.values()) {
+            view.clear();
+        }
+        for (Camp camp : repository) {
+            put(camp);
+        }
+        source = repository;
+        listener = new Listener(repository);
+        repository.addListener(listener);
+    }
+
+    /**
+     * Adds a camp to the views it belongs in and removes it from the others.
+     *
+     * @param camp the camp
+     */
+    private static void put(Camp camp) {
+        VISIBLE_CAMPS.set(camp, "true".equals(camp.getVisibility()));
+        for (Map.Entry<Faculty, View> entry : FACULTY_VIEWS.entrySet()) {
+            entry.getValue().set(camp, isAvailableTo(camp, entry.getKey()));
+        }
+    }
+
+    /**
+     * Checks whether a camp belongs in the view of a faculty: whether it is visible, open to
+     * the faculty or to the whole of NTU, and its registration is still open.
+     *
+     * @param camp    the camp
+     * @param faculty the faculty
+     * @return true if the camp belongs in the view of the faculty, false otherwise
+     */
+    public static boolean isAvailableTo(Camp camp, Faculty faculty) {
+        return "true".equals(camp.getVisibility())
+                && (camp.getOpenTo() == Faculty.NTU || camp.getOpenTo() == faculty)
+                && CampDeadlineScheduler.isOpen(camp);
+    }
+
+    /**
+     * Updates a camp that may have changed phase, if it is still stored in the source.
+     *
+     * @param camp the camp
+     */
+    private static synchronized void onPhaseChange(Camp camp) {
+        if (source == null) {
+            return;
+        }
+        try {
+            if (source.getByID(camp.getID()) == camp) {
+                put(camp);
+            }
+        } catch (ModelNotFoundException e) {
+            // The camp has been deleted since its deadline was scheduled.
+        }
+    }
+
+    /**
+     * Removes a camp from every view.
+     *
+     * @param camp the camp
+     */
+    private static void remove(Camp camp) {
+        VISIBLE_CAMPS.set(camp, false);
+        for (View view : FACULTY_VIEWS.values()) {
+            view.set(camp, false);
+        }
+    }
+
+    /**
+     * Keeps the views up to date with the changes made to one camp repository.
+     */
+    private static final class Listener implements RepositoryListener<Camp> {
+
+        private final CampRepository repository;
+
+        Listener(CampRepository repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public void onPut(Camp camp) {
+            synchronized (FacultyCampViews.class) {
+                if (repository == source) {
+                    put(camp);
+                }
+            }
+        }
+
+        @Override
+        public void onRemove(Camp camp) {
+            synchronized (FacultyCampViews.class) {
+                if (repository == source) {
+                    remove(camp);
+                }
+            }
+        }
+
+        @Override
+        public void onReset() {
+            synchronized (FacultyCampViews.class) {
+                if (repository == source) {
+                    repository.removeListener(this);
+                    source = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * The camps of one view, keyed by upper-cased camp ID, with the list last returned for
+     * them.
+     */
+    private static final class View {
+
+        private final Map<String, Camp> camps = new LinkedHashMap<>();
+
+        /**
+         * The list last returned by {@link #getCamps()}, or null if the view has changed since.
+         */
+        private List<Camp> snapshot = null;
+
+        /**
+         * Adds a camp to the view or removes it from the view.
+         *
+         * @param camp    the camp
+         * @param belongs whether the camp belongs in the view
+         */
+        void set(Camp camp, boolean belongs) {
+            String campID = camp.getID().toUpperCase(Locale.ROOT);
+            if (belongs) {
+                if (camps.put(campID, camp) != camp) {
+                    snapshot = null;
+                }
+            } else if (camps.remove(campID) != null) {
+                snapshot = null;
+            }
+        }
+
+        void clear() {
+            camps.clear();
+            snapshot = null;
+        }
+
+        List<Camp> getCamps() {
+            if (snapshot == null) {
+                snapshot = List.copyOf(camps.values());
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package main.controller.camp;
+
+import main.model.camp.Camp;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reserves and releases the attendee and camp committee slots of camps, so that a camp is
+ * never filled beyond its capacity however many students register at the same time.
+ * <p>
+ * Each camp has an atomic counter per kind of slot, seeded from the camp's filled slots when
+ * the camp is first seen. Checking for a free slot and taking it is a single compare-and-set,
+ * so it cannot be split by another registration, and registrations for different camps never
+ * wait for each other. The counters are the authority on filled slots: the filled slots of a
+ * camp are copied from them when a registration is saved, through
+ * {@link #save(Camp, Runnable)}, rather than read, incremented and written back.
+ */
+public final class SlotReservationService {
+    /**
+     * The slot counters of each camp, keyed by upper-cased camp ID.
+     */
+    private static final ConcurrentHashMap<String, CampSlots> SLOTS = new ConcurrentHashMap<>();
+
+    private SlotReservationService() {
+    }
+
+    /**
+     * Takes an attendee slot of a camp if one is free.
+     *
+     * @param camp the camp
+     * @return true if a slot was taken, false if every attendee slot is taken
+     */
+    public static boolean tryReserveAttendeeSlot(Camp camp) {
+        return tryReserve(getSlots(camp).attendees, camp.getTotalSlots());
+    }
+
+    /**
+     * Gives back an attendee slot of a camp.
+     *
+     * @param camp the camp
+     */
+    public static void releaseAttendeeSlot(Camp camp) {
+        release(getSlots(camp).attendees);
+    }
+
+    /**
+     * Takes back an attendee slot given back by a withdrawal that could not be saved. The
+     * slot is taken even if the camp is full, as the student still holds it; the camp is only
+     * over capacity if a registration took the slot in between.
+     *
+     * @param camp the camp
+     */
+    public static void restoreAttendeeSlot(Camp camp) {
+        getSlots(camp).attendees.incrementAndGet();
+    }
+
+    /**
+     * Takes a camp committee slot of a camp if one is free.
+     *
+     * @param camp the camp
+     * @return true if a slot was taken, false if every camp committee slot is taken
+     */
+    public static boolean tryReserveCommitteeSlot(Camp camp) {
+        return tryReserve(getSlots(camp).committee, camp.getCampCommSlots());
+    }
+
+    /**
+     * Gives back a camp committee slot of a camp.
+     *
+     * @param camp the camp
+     */
+    public static void releaseCommitteeSlot(Camp camp) {
+        release(getSlots(camp).committee);
+    }
+
+    /**
+     * Gets the number of attendee slots of a camp that are taken.
+     *
+     * @param camp the camp
+     * @return the number of taken attendee slots
+     */
+    public static int getFilledAttendeeSlots(Camp camp) {
+        return getSlots(camp).attendees.get();
+    }
+
+    /**
+     * Gets the number of camp committee slots of a camp that are taken.
+     *
+     * @param camp the camp
+     * @return the number of taken camp committee slots
+     */
+    public static int getFilledCommitteeSlots(Camp camp) {
+        return getSlots(camp).committee.get();
+    }
+
+    /**
+     * Saves a change to the slots of a camp. The filled slots of the camp are set from its
+     * counters, then the change is saved, while saves for the same camp wait, so that the
+     * last save of a camp always holds its latest counts. If the save fails, the filled slots
+     * of the camp are set back to what they were.
+     *
+     * @param camp the camp
+     * @param save saves the camp, typically by committing a transaction
+     * @throws RuntimeException if the camp could not be saved
+     */
+    public static void save(Camp camp, Runnable save) {
+        CampSlots slots = getSlots(camp);
+        synchronized (slots) {
+            int previousFilledSlots = camp.getFilledSlots();
+            int previousFilledCampCommSlots = camp.getFilledCampCommSlots();
+            camp.setFilledSlots(slots.attendees.get());
+            camp.setFilledCampCommSlots(slots.committee.get());
+            try {
+                save.run();
+            } catch (RuntimeException e) {
+                camp.setFilledSlots(previousFilledSlots);
+                camp.setFilledCampCommSlots(previousFilledCampCommSlots);
+                throw e;
+            }
+        }
+    }
+
+    private static boolean tryReserve(AtomicInteger counter, int capacity) {
+        int filled = counter.get();
+        while (filled < capacity) {
+            if (counter.compareAndSet(filled, filled + 1)) {
+                return true;
+            }
+            filled = counter.get();
+        }
+        return false;
+    }
+
+    private static void release(AtomicInteger counter) {
+        counter.updateAndGet(filled -> Math.max(0, filled - 1));
+    }
+
+    /**
+     * Gets the slot counters of a camp. The counters are seeded again if the camp object is
+     * not the one they were seeded from, as happens when the camp repository is reloaded.
+     *
+     * @param camp the camp
+     * @return the slot counters of the camp
+     */
+    private static CampSlots getSlots(Camp camp) {
+        String key = camp.getID().toUpperCase(Locale.ROOT);
+        CampSlots slots = SLOTS.get(key);
+        if (slots == null || slots.camp != camp) {
+            slots = SLOTS.compute(key, (id, current) -> current != null && current.camp == camp ? current : new CampSlots(camp));
+        }
+        return slots;
+    }
+
+    /**
+     * The slot counters of one camp.
+     */
+    private static final class CampSlots {
+        private final Camp camp;
+        private final AtomicInteger attendees;
+        private final AtomicInteger committee;
+
+        CampSlots(Camp camp) {
+            this.camp = camp;
+            this.attendees = new AtomicInteger(camp.getFilledSlots());
+            this.committee = new AtomicInteger(camp.getFilledCampCommSlots());
+        }
+    }
+}
@@ -14,6 +14,7 @@ import main.model.camp.Camp;
 import main.model.request.Request;
 import main.model.request.Enquiry;
 import main.model.request.Suggestion;
+import main.repository.Repository.RepositoryRule;
 import main.repository.camp.CampRepository;
 import main.repository.user.StaffRepository;
 import main.repository.user.StudentRepository;
@@ -49,7 +50,7 @@ public class RequestManager {
      * @return the list of enquiries sent by the student.
      */
     public static List<Enquiry> viewEnquiryBySender(String studentID) {
-        return EnquiryRepository.getInstance().findByRules(e -> e.getSenderID().equals(studentID));
+        return EnquiryRepository.getInstance().findByRules(RepositoryRule.fieldEquals("senderID", studentID));
     }
 
     /**
@@ -68,7 +69,7 @@ public class RequestManager {
      * @return the list of suggestions sent by the student.
      */
     public static List<Suggestion> viewSuggestionBySender(String studentID) {
-        return SuggestionRepository.getInstance().findByRules(e -> e.getSenderID().equals(studentID));
+        return SuggestionRepository.getInstance().findByRules(RepositoryRule.fieldEquals("studentID", studentID));
         }
 
 
@@ -223,8 +224,8 @@ public class RequestManager {
      */
     public static List<Enquiry> getAllPendingEnquiriesByCampID(String campID) throws ModelNotFoundException{
         return EnquiryRepository.getInstance().findByRules(
-            e -> e.getRequestStatus() == RequestStatus.PENDING,
-            e -> campID.contains(e.getCampID()))
+            RepositoryRule.fieldEquals("requestStatus", RequestStatus.PENDING),
+            RepositoryRule.fieldEquals("campID", campID))
             .stream()
             .map(e -> (Enquiry) e)
             .collect(Collectors.toList());
@@ -244,7 +245,7 @@ public class RequestManager {
         .map(Camp::getID)
         .collect(Collectors.toList());
         return EnquiryRepository.getInstance().findByRules(
-        e -> e.getRequestStatus() == RequestStatus.PENDING,
+        RepositoryRule.fieldEquals("requestStatus", RequestStatus.PENDING),
         e -> campIDs.contains(e.getCampID()))
         .stream()
         .map(e -> (Enquiry) e)
@@ -265,7 +266,7 @@ public class RequestManager {
         .map(Camp::getID)
         .collect(Collectors.toList());
         return SuggestionRepository.getInstance().findByRules(
-        s -> s.getRequestStatus() == RequestStatus.PENDING,
+        RepositoryRule.fieldEquals("requestStatus", RequestStatus.PENDING),
         s -> campIDs.contains(s.getCampID()))
         .stream()
         .map(r -> (Suggestion) r)
@@ -11,6 +11,7 @@ package main.controller.request;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
@@ -19,6 +20,8 @@ import java.util.stream.Collectors;
 import main.boundary.modelviewer.CampViewer;
 import main.boundary.modelviewer.ModelViewer;
 import main.controller.camp.CampManager;
+import main.controller.camp.CampMembershipIndex;
+import main.controller.camp.EnrolmentResult;
 import main.model.camp.Camp;
 import main.model.request.Enquiry;
 import main.model.request.RequestStatus;
@@ -392,6 +395,66 @@ public class StaffManager {
         throw new PageBackException();
     }
 
+    /**
+    * Allows staff to enrol a batch of students in one of their camps as attendees, from
+    * student IDs typed in or from a CSV file, and shows the result for each student.
+    *
+    * @param user The user (staff member) enrolling the students.
+    * @throws PageBackException Thrown if the user chooses to go back during the process.
+    * @throws ModelNotFoundException Thrown if the specified camp ID is not found.
+    */
+    public static void enrolStudentsInBulk(User user) throws PageBackException, ModelNotFoundException {
+        ChangePage.changePage();
+        CampViewer.viewStaffCamps((Staff) user);
+
+        Scanner scanner = new Scanner(System.in);
+        System.out.println("Enter Camp ID of camp to enrol students in");
+        String campID = scanner.nextLine();
+        Camp camp = CampManager.getCampByID(campID);
+        if (!camp.getStaffID().equalsIgnoreCase(user.getID())) {
+            System.out.println("You can only enrol students in your own camps.");
+            System.out.println("Press enter to continue");
+            scanner.nextLine();
+            throw new PageBackException();
+        }
+
+        System.out.println("\t1. Enter student IDs");
+        System.out.println("\t2. Read student IDs from a CSV file");
+        int choice = IntGetter.readInt();
+        List<EnrolmentResult> results;
+        if (choice == 1) {
+            System.out.println("Enter the student IDs, separated by commas");
+            List<String> studentIDs = new ArrayList<>();
+            for (String studentID : scanner.nextLine().split(",")) {
+                if (!studentID.isBlank()) {
+                    studentIDs.add(studentID.trim());
+                }
+            }
+            results = CampManager.registerCampAttendees(camp.getID(), studentIDs);
+        } else if (choice == 2) {
+            System.out.println("Enter the path of the CSV file, with the student IDs in its first column");
+            results = CampManager.registerCampAttendeesFromCSV(camp.getID(), scanner.nextLine());
+        } else {
+            throw new PageBackException();
+        }
+
+        ChangePage.changePage();
+        System.out.println(BoundaryStrings.separator);
+        System.out.printf("%-12s %s%n", "Student ID", "Result");
+        int enrolled = 0;
+        for (EnrolmentResult result : results) {
+            System.out.printf("%-12s %s%n", result.studentID(), result.outcome().getDescription());
+            if (result.isEnrolled()) {
+                enrolled++;
+            }
+        }
+        System.out.println(BoundaryStrings.separator);
+        System.out.println(enrolled + " of " + results.size() + " students enrolled in " + camp.getID() + ".");
+        System.out.println("Press enter to continue");
+        scanner.nextLine();
+        throw new PageBackException();
+    }
+
     /**
     * Displays and allows staff to reply to pending enquiries.
     *
@@ -404,7 +467,7 @@ public class StaffManager {
         System.out.println(BoundaryStrings.separator);
         System.out.println("View Pending Enquiries");
         System.out.println();
-        ModelViewer.displayListOfDisplayable(RequestManager.getAllPendingEnquiriesByStaff((Staff) user));
+        ModelViewer.displayPages(RequestManager.getAllPendingEnquiriesByStaff((Staff) user));
         System.out.println("Which enquiry ID do you want to reply");
         Scanner scanner = new Scanner(System.in);
         String enquiryID = scanner.nextLine();
@@ -1330,11 +1393,7 @@ public class StaffManager {
     * @return A list of Student objects representing attendees of the specified camp.
     */
     private static List<Student> getAllAttendeesByCamp(Camp camp) {
-        return StudentRepository.getInstance().findByRules(
-                s -> s.getACamps().toLowerCase().contains(camp.getID().toLowerCase()))
-                .stream()
-                .map(s -> (Student) s)
-                .collect(Collectors.toList());
+        return CampMembershipIndex.getAttendees(camp.getID());
     }
 
     /**
@@ -1345,11 +1404,7 @@ public class StaffManager {
     * @return A list of Student objects representing camp committee members of the specified camp.
     */
     private static List<Student> getAllCampCommByCamp(Camp camp) {
-        return StudentRepository.getInstance().findByRules(
-                s -> s.getCCamps().toLowerCase().contains(camp.getID().toLowerCase()))
-                .stream()
-                .map(s -> (Student) s)
-                .collect(Collectors.toList());
+        return CampMembershipIndex.getCommitteeMembers(camp.getID());
     }
 
     /**
@@ -2,7 +2,10 @@ package main.controller.request;
 
 import main.boundary.modelviewer.ModelViewer;
 
+import main.controller.camp.CampDeadlineScheduler;
 import main.controller.camp.CampManager;
+import main.controller.camp.CampMembershipIndex;
+import main.controller.camp.CampSchedule;
 import main.controller.request.StudentManager;
 import main.model.camp.Camp;
 import main.model.user.Faculty;
@@ -10,11 +13,13 @@ import main.model.user.Student;
 import main.model.request.Enquiry;
 import main.model.request.RequestStatus;
 import main.model.request.Suggestion;
+import main.repository.Repository.RepositoryRule;
 import main.repository.camp.CampRepository;
 import main.repository.request.EnquiryRepository;
 import main.repository.request.SuggestionRepository;
 import main.repository.user.StudentRepository;
 
+import main.utils.exception.CampFullException;
 import main.utils.exception.ModelAlreadyExistsException;
 import main.utils.exception.ModelNotFoundException;
 import main.utils.exception.PageBackException;
@@ -22,22 +27,16 @@ import main.utils.iocontrol.IntGetter;
 import main.utils.parameters.EmptyID;
 import main.utils.ui.BoundaryStrings;
 import main.utils.ui.ChangePage;
-import main.utils.config.CurrentDate;
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
-import java.util.stream.Collectors;
 import static main.utils.config.Location.RESOURCE_LOCATION;
 
 /**
@@ -64,7 +63,7 @@ public class StudentManager {
     public static void registerCampAttendee(Student student) throws PageBackException {
         ChangePage.changePage();
         System.out.println("Here is the list of available camps: ");
-        ModelViewer.displayListOfDisplayable(CampManager.getAllVisibleCamps());
+        ModelViewer.displayListOfDisplayable(CampManager.getCampsForStudent(student));
         System.out.print("Please enter the camp ID: ");
         String campID = new Scanner(System.in).nextLine();
         campID = campID.toUpperCase();
@@ -80,7 +79,7 @@ public class StudentManager {
         Camp camp;
         try {
             camp = CampManager.getByID(campID);
-            if (student.getPCamps().contains(campID)) {
+            if (student.hasWithdrawnFrom(campID)) {
                 System.out
                         .println("You are not allowed to register from this camp that you withdrawn from previously.");
                 System.out.println("Press Enter to go back, or enter [r] to retry.");
@@ -90,7 +89,7 @@ public class StudentManager {
                 }
                 throw new PageBackException();
             }
-            else if (student.getCCamps().equalsIgnoreCase(campID)) {
+            else if (student.isCommitteeMemberOf(campID)) {
                 System.out.println("You are already a camp committee for this camp.");
                 System.out.println("Press Enter to go back, or enter [r] to retry.");
                 String choice = new Scanner(System.in).nextLine();
@@ -99,7 +98,7 @@ public class StudentManager {
                 }
                 throw new PageBackException();
             }
-            else if (student.getACamps().equalsIgnoreCase(campID)) {
+            else if (student.isAttendeeOf(campID)) {
                 System.out.println("You are already an attendee for this camp.");
                 System.out.println("Press Enter to go back, or enter [r] to retry.");
                 String choice = new Scanner(System.in).nextLine();
@@ -117,7 +116,7 @@ public class StudentManager {
                 }
                 throw new PageBackException();
             }
-            else if (Integer.parseInt(CurrentDate.DATE) >= Integer.parseInt(camp.getRegistrationClosingDate())) {
+            else if (!CampDeadlineScheduler.isOpen(camp)) {
                 System.out.println("Camp Registration Closed.");
                 System.out.println("Press Enter to go back, or enter [r] to retry.");
                 String choice = new Scanner(System.in).nextLine();
@@ -126,15 +125,6 @@ public class StudentManager {
                 }
                 throw new PageBackException();
             }
-            else if (camp.getFilledSlots() >= camp.getTotalSlots()) {
-                System.out.println("Attendee Slots maxed.");
-                System.out.println("Press Enter to go back, or enter [r] to retry.");
-                String choice = new Scanner(System.in).nextLine();
-                if (choice.equals("r")) {
-                    registerCampAttendee(student);
-                }
-                throw new PageBackException();
-            }
             else if (!(camp.getOpenTo().toString().equals("NTU"))
                     && !(camp.getOpenTo().toString().equals(student.getFaculty().toString())))
                                                                                                
@@ -147,6 +137,10 @@ public class StudentManager {
                 }
                 throw new PageBackException();
             }
+            else if (camp.getFilledSlots() >= camp.getTotalSlots()) {
+                System.out.println("Attendee Slots maxed.");
+                offerWaitlist(student, campID);
+            }
 
         } catch (ModelNotFoundException e) {
             throw new RuntimeException(e);
@@ -157,6 +151,9 @@ public class StudentManager {
             try {
                 CampManager.registerCampAttendee(campID, student.getID());
                 System.out.println("Registered for Camp!");
+            } catch (CampFullException e) {
+                System.out.println(e.getMessage());
+                offerWaitlist(student, campID);
             } catch (Exception e) {
                 System.out.println("Enter [b] to go back, or press enter to retry.");
                 String yNChoice = new Scanner(System.in).nextLine();
@@ -177,42 +174,58 @@ public class StudentManager {
     }
 
     /**
-     * Checks for date clashes between the dates of the camp the student wants to register
-     * for and the dates of their existing registered camps.
+     * Offers a student who cannot register for a full camp a place on its waitlist. The
+     * student is registered automatically when an attendee slot is freed and they are at
+     * the front of the waitlist.
      *
      * @param student the student.
-     * @param camp the camp the student wants to register for.
-     * @return true if there is a date clash, false otherwise.
+     * @param campID  the ID of the full camp.
+     * @throws PageBackException always, to go back once the student has chosen.
      */
-    public static boolean checkClash(Student student, Camp camp) {
-        if (student.getACamps().equals("null") && student.getCCamps().equals("null")) {
-            return false;
-        }
-
-        List<String> campIds = new ArrayList<>();
-
-        if (!student.getACamps().equals("null")) {
-            String[] aCampsArray = student.getACamps().split(",");
-            campIds.addAll(Arrays.asList(aCampsArray));
-        }
-
-        if (!student.getCCamps().equals("null")) {
-            campIds.add(student.getCCamps());
+    private static void offerWaitlist(Student student, String campID) throws PageBackException {
+        int position = CampManager.getWaitlistPosition(campID, student.getID());
+        if (position > 0) {
+            System.out.println("You are number " + position + " on the waitlist of this camp.");
+            System.out.println("Enter [l] to leave the waitlist, or press Enter to go back.");
+            String choice = new Scanner(System.in).nextLine();
+            if (choice.equals("l") && CampManager.leaveWaitlist(campID, student.getID())) {
+                System.out.println("You have left the waitlist.");
+                System.out.println("Press Enter to go back.");
+                new Scanner(System.in).nextLine();
+            }
+            throw new PageBackException();
         }
-
-        for (String campId : campIds) {
+        System.out.println("Enter [w] to join the waitlist, [r] to retry, or press Enter to go back.");
+        String choice = new Scanner(System.in).nextLine();
+        if (choice.equals("r")) {
+            registerCampAttendee(student);
+        } else if (choice.equals("w")) {
             try {
-                Camp registeredCamp = CampRepository.getInstance().getByID(campId);
-
-                if (hasDateClash(registeredCamp.getDates(), camp.getDates())) {
-                    return true; // Clash detected
+                position = CampManager.joinWaitlist(campID, student.getID());
+                if (position == 0) {
+                    System.out.println("A slot has been freed. Registered for Camp!");
+                } else {
+                    System.out.println("Joined the waitlist at number " + position + ".");
                 }
-            } catch (ModelNotFoundException e) {
-                e.printStackTrace();
+            } catch (CampFullException | ModelNotFoundException e) {
+                System.out.println(e.getMessage());
             }
+            System.out.println("Press Enter to go back.");
+            new Scanner(System.in).nextLine();
         }
+        throw new PageBackException();
+    }
 
-        return false;
+    /**
+     * Checks for date clashes between the dates of the camp the student wants to register
+     * for and the dates of their existing registered camps.
+     *
+     * @param student the student.
+     * @param camp the camp the student wants to register for.
+     * @return true if there is a date clash, false otherwise.
+     */
+    public static boolean checkClash(Student student, Camp camp) {
+        return CampSchedule.forStudent(student).clashesWith(camp);
     }
 
     /**
@@ -223,18 +236,21 @@ public class StudentManager {
      * @return true if there is a date clash, false otherwise.
      */
     public static boolean hasDateClash(String dates1, String dates2) {
-        try {
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd");
-            Date startDate1 = dateFormat.parse(dates1.split("-")[0]);
-            Date endDate1 = dateFormat.parse(dates1.split("-")[1]);
-            Date startDate2 = dateFormat.parse(dates2.split("-")[0]);
-            Date endDate2 = dateFormat.parse(dates2.split("-")[1]);
-
-            return !(endDate1.before(startDate2) || startDate1.after(endDate2));
-        } catch (ParseException e) {
-            e.printStackTrace();
+        String[] range1 = dates1.split("-");
+        String[] range2 = dates2.split("-");
+        if (range1.length < 2 || range2.length < 2) {
+            return false;
+        }
+        long startDate1 = Camp.parseEpochDay(range1[0]);
+        long endDate1 = Camp.parseEpochDay(range1[1]);
+        long startDate2 = Camp.parseEpochDay(range2[0]);
+        long endDate2 = Camp.parseEpochDay(range2[1]);
+        if (startDate1 == Camp.INVALID_EPOCH_DAY || endDate1 == Camp.INVALID_EPOCH_DAY
+                || startDate2 == Camp.INVALID_EPOCH_DAY || endDate2 == Camp.INVALID_EPOCH_DAY) {
             return false;
         }
+
+        return !(endDate1 < startDate2 || startDate1 > endDate2);
     }
 
     /**
@@ -273,19 +289,15 @@ public class StudentManager {
         }while(campID==""); 
         campID = campID.toUpperCase();
 
-        if (!student.getCCamps().equals("null")) {
-            String CCamps = student.getCCamps();
-            if (CCamps.toLowerCase().equals(campID.toLowerCase())) {
-                System.out.printf("You are a commitee of camp %s, you are not allow to withdraw from this camp!\n",
-                        campID);
-                System.out.println("Press Enter to go back.");
-                new Scanner(System.in).nextLine();
-                throw new PageBackException();
-            }
+        if (student.isCommitteeMemberOf(campID)) {
+            System.out.printf("You are a commitee of camp %s, you are not allow to withdraw from this camp!\n",
+                    campID);
+            System.out.println("Press Enter to go back.");
+            new Scanner(System.in).nextLine();
+            throw new PageBackException();
         }
 
-        String ACamps = student.getACamps();
-        if (!ACamps.toLowerCase().contains(campID.toLowerCase())) {
+        if (!student.isAttendeeOf(campID)) {
             System.out.println("Camp ID is invalid");
             System.out.println("Press Enter to go back.");
             new Scanner(System.in).nextLine();
@@ -334,7 +346,7 @@ public class StudentManager {
         }
 
         System.out.println("Here is the list of available camps: ");
-        ModelViewer.displayListOfDisplayable(CampManager.getAllVisibleCamps());
+        ModelViewer.displayListOfDisplayable(CampManager.getCampsForStudent(student));
         System.out.print("Please enter the camp ID: ");
         String campID = new Scanner(System.in).nextLine();
         campID = campID.toUpperCase();
@@ -350,7 +362,7 @@ public class StudentManager {
         Camp camp;
         try {
             camp = CampManager.getByID(campID);
-            if (student.getPCamps().contains(campID)) {
+            if (student.hasWithdrawnFrom(campID)) {
                 System.out
                         .println("You are not allowed to register from this camp that you withdrawn from previously.");
                 System.out.println("Press Enter to go back, or enter [r] to retry.");
@@ -360,7 +372,7 @@ public class StudentManager {
                 }
                 throw new PageBackException();
             }
-            if (student.getACamps().contains(campID)) {
+            if (student.isAttendeeOf(campID)) {
                 System.out.println("You are already an attendee for this camp.");
                 System.out.println("Press Enter to go back, or enter [r] to retry.");
                 String choice = new Scanner(System.in).nextLine();
@@ -378,7 +390,7 @@ public class StudentManager {
                 }
                 throw new PageBackException();
             }
-            else if (Integer.parseInt(CurrentDate.DATE) >= Integer.parseInt(camp.getRegistrationClosingDate())) {
+            else if (!CampDeadlineScheduler.isOpen(camp)) {
                 System.out.println("Camp Registration Closed.");
                 System.out.println("Press Enter to go back, or enter [r] to retry.");
                 String choice = new Scanner(System.in).nextLine();
@@ -427,6 +439,15 @@ public class StudentManager {
             try {
                 CampManager.registerCampCommittee(campID, student.getID());
                 System.out.println("Registered for Camp!");
+            } catch (CampFullException e) {
+                System.out.println(e.getMessage());
+                System.out.println("Enter [b] to go back, or press enter to retry.");
+                String yNChoice = new Scanner(System.in).nextLine();
+                if (yNChoice.equals("b")) {
+                    throw new PageBackException();
+                } else {
+                    registerCampCommittee(student);
+                }
             } catch (Exception e) {
                 System.out.println("Enter [b] to go back, or press enter to retry.");
                 String yNChoice = new Scanner(System.in).nextLine();
@@ -509,7 +530,8 @@ public class StudentManager {
     public static void viewEnquiry(Student student) throws PageBackException, ModelNotFoundException {
         ChangePage.changePage();
         System.out.println("Here is the list of Enquiries you made");
-        ModelViewer.displayListOfDisplayable((RequestManager.viewEnquiryBySender(student.getID())));// change to by user
+        ModelViewer.displayPages(EnquiryRepository.getInstance(), null,
+                RepositoryRule.fieldEquals("senderID", student.getID()));
         System.out.println();
 
         System.out.println("1. Edit Enquiry");
@@ -1132,11 +1154,7 @@ public class StudentManager {
     * @return a list of attendees.
     */
     public static List<Student> getAllAttendeesByCamp(Camp camp) {
-        return StudentRepository.getInstance().findByRules(
-                s -> s.getACamps().toLowerCase().contains(camp.getID().toLowerCase()))
-                .stream()
-                .map(s -> (Student) s)
-                .collect(Collectors.toList());
+        return CampMembershipIndex.getAttendees(camp.getID());
     }
 
     /**
@@ -1146,10 +1164,6 @@ public class StudentManager {
     * @return a list of camp committee members.
     */
     public static List<Student> getAllCampCommByCamp(Camp camp) {
-        return StudentRepository.getInstance().findByRules(
-                s -> s.getCCamps().toLowerCase().contains(camp.getID().toLowerCase()))
-                .stream()
-                .map(s -> (Student) s)
-                .collect(Collectors.toList());
+        return CampMembershipIndex.getCommitteeMembers(camp.getID());
     }
 }
@@ -6,6 +6,7 @@
 package main;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import main.boundary.UIEntry;
 import main.boundary.mainpage.StaffMainPage;
@@ -15,6 +16,8 @@ import main.controller.camp.CampManager;
 import main.model.camp.Camp;
 import main.model.user.User;
 import main.model.user.UserType;
+import main.repository.RepositoryBootstrap;
+import main.repository.RepositoryRegistry;
 import main.utils.exception.ModelNotFoundException;
 import main.utils.exception.PasswordIncorrectException;
 
@@ -24,11 +27,19 @@ import main.utils.exception.PasswordIncorrectException;
 public class main {
     /**
      * The main method is the entry point of the program.
-     * It initializes the UI and starts the program by invoking the start method of the UIEntry class.
+     * It starts loading the repositories in the background, then initializes the UI and starts
+     * the program by invoking the start method of the UIEntry class.
      *
-     * @param args The command line arguments passed to the program (not used in this implementation).
+     * @param args The command line arguments passed to the program. With {@code --load-report},
+     *             the time taken to load each repository and its record count are printed to
+     *             the standard error stream once every repository has loaded.
      */
     public static void main(String[] args) {
+        CompletableFuture<List<RepositoryRegistry.LoadReport>> loading = RepositoryBootstrap.start();
+        if (Arrays.asList(args).contains("--load-report")) {
+            loading.thenAccept(reports -> System.err.print(RepositoryBootstrap.formatLoadReports(reports)));
+        }
+
         // For testing the app from login
         UIEntry.start();
  
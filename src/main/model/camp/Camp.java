@@ -10,7 +10,11 @@ package main.model.camp;
 import main.model.Displayable;
 import main.model.Model;
 import main.model.user.Faculty;
+import main.utils.ui.RenderCache;
+import main.utils.ui.TableLayout;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.Map;
 
 /**
@@ -33,6 +37,36 @@ public class Camp implements Model, Displayable {
 	private String staffID;
 	private String visibility;
 
+	/**
+	 * The value returned for a date that could not be parsed.
+	 */
+	public static final long INVALID_EPOCH_DAY = Long.MIN_VALUE;
+
+	/**
+	 * The dates string the cached epoch days were parsed from. The fields of a camp can be
+	 * set without its setters when it is read from a data file, so the cache is checked
+	 * against the dates string itself.
+	 */
+	private transient String parsedDates;
+	private transient long startEpochDay;
+	private transient long endEpochDay;
+
+	/**
+	 * The registration closing date string the cached closing epoch day was parsed from.
+	 */
+	private transient String parsedRegistrationClosingDate;
+	private transient long registrationClosingEpochDay;
+
+	/**
+	 * The layout of the table the camp is displayed in.
+	 */
+	private static final TableLayout LAYOUT = new TableLayout(27, 30);
+
+	/**
+	 * The displayable strings of the camp, made again after any setter is called.
+	 */
+	private final transient RenderCache renderCache = new RenderCache();
+
     /**
      * Constructs a Camp object with the given attributes.
      *
@@ -76,6 +110,12 @@ public class Camp implements Model, Displayable {
 		fromMap(map);
 	}
 
+	/**
+	 * Constructs an empty Camp object, whose fields are then read from a binary data file.
+	 */
+	private Camp() {
+	}
+
 	public String getID() {
 		return this.campID;
 	}
@@ -88,10 +128,120 @@ public class Camp implements Model, Displayable {
 		return this.dates;
 	}
 
+	/**
+	 * Gets the first day of the camp.
+	 *
+	 * @return the first day as a count of days since 1970-01-01, or {@link #INVALID_EPOCH_DAY}
+	 *         if the dates cannot be parsed
+	 */
+	public long getStartEpochDay() {
+		parseDates();
+		return this.startEpochDay;
+	}
+
+	/**
+	 * Gets the last day of the camp.
+	 *
+	 * @return the last day as a count of days since 1970-01-01, or {@link #INVALID_EPOCH_DAY}
+	 *         if the dates cannot be parsed
+	 */
+	public long getEndEpochDay() {
+		parseDates();
+		return this.endEpochDay;
+	}
+
+	/**
+	 * Checks whether the dates of the camp can be parsed.
+	 *
+	 * @return true if the dates are a valid "yyyyMMdd-yyyyMMdd" range, false otherwise
+	 */
+	public boolean hasValidDates() {
+		parseDates();
+		return this.startEpochDay != INVALID_EPOCH_DAY;
+	}
+
+	/**
+	 * Checks whether the camp takes place on any day of a range of days. A camp whose dates
+	 * cannot be parsed overlaps nothing.
+	 *
+	 * @param fromEpochDay the first day of the range, as a count of days since 1970-01-01
+	 * @param toEpochDay   the last day of the range, as a count of days since 1970-01-01
+	 * @return true if the camp overlaps the range, false otherwise
+	 */
+	public boolean overlaps(long fromEpochDay, long toEpochDay) {
+		return hasValidDates() && this.startEpochDay <= toEpochDay && this.endEpochDay >= fromEpochDay;
+	}
+
+	/**
+	 * Parses the dates of the camp into epoch days, unless they have been parsed already.
+	 */
+	private void parseDates() {
+		String dates = this.dates;
+		if (dates == this.parsedDates && dates != null) {
+			return;
+		}
+		long start = INVALID_EPOCH_DAY;
+		long end = INVALID_EPOCH_DAY;
+		int separator = dates == null ? -1 : dates.indexOf('-');
+		if (separator >= 0) {
+			start = parseEpochDay(dates.substring(0, separator));
+			end = parseEpochDay(dates.substring(separator + 1));
+			if (start == INVALID_EPOCH_DAY || end == INVALID_EPOCH_DAY) {
+				start = INVALID_EPOCH_DAY;
+				end = INVALID_EPOCH_DAY;
+			}
+		}
+		this.startEpochDay = start;
+		this.endEpochDay = end;
+		this.parsedDates = dates;
+	}
+
+	/**
+	 * Parses a date in the "yyyyMMdd" format used by camps.
+	 *
+	 * @param date the date
+	 * @return the date as a count of days since 1970-01-01, or {@link #INVALID_EPOCH_DAY} if it
+	 *         is not a valid date
+	 */
+	public static long parseEpochDay(String date) {
+		date = date.trim();
+		if (date.length() != 8) {
+			return INVALID_EPOCH_DAY;
+		}
+		int value = 0;
+		for (int i = 0; i < 8; i++) {
+			char digit = date.charAt(i);
+			if (digit < '0' || digit > '9') {
+				return INVALID_EPOCH_DAY;
+			}
+			value = value * 10 + (digit - '0');
+		}
+		try {
+			return LocalDate.of(value / 10000, value / 100 % 100, value % 100).toEpochDay();
+		} catch (DateTimeException e) {
+			return INVALID_EPOCH_DAY;
+		}
+	}
+
 	public String getRegistrationClosingDate() {
 		return this.registrationClosingDate;
 	}
 
+	/**
+	 * Gets the registration closing date of the camp. Registration is closed from this day on.
+	 *
+	 * @return the closing date as a count of days since 1970-01-01, or {@link #INVALID_EPOCH_DAY}
+	 *         if it cannot be parsed
+	 */
+	public long getRegistrationClosingEpochDay() {
+		String closingDate = this.registrationClosingDate;
+		if (closingDate != this.parsedRegistrationClosingDate || closingDate == null) {
+			this.registrationClosingEpochDay = closingDate == null ? INVALID_EPOCH_DAY : parseEpochDay(closingDate);
+			this.parsedRegistrationClosingDate = closingDate;
+		}
+		return this.registrationClosingEpochDay;
+	}
+
 	public Faculty getOpenTo() {
 		return this.openTo;
 	}
@@ -134,173 +284,91 @@ public class Camp implements Model, Displayable {
 
 	public void setCampID(String id) {
 		this.campID = id;
+		renderCache.invalidate();
 	}
 
 	public void setCampName(String name) {
 		this.campName = name;
+		renderCache.invalidate();
 	}
 
 	public void setDates(String dates) {
 		this.dates = dates;
+		renderCache.invalidate();
 	}
 
 	public void setRegistrationClosingDate(String closingDate) {
 		this.registrationClosingDate = closingDate;
+		renderCache.invalidate();
 	}
 
 	public void setCampType(Faculty faculty) {
 		this.openTo = faculty;
+		renderCache.invalidate();
 	}
 
 	public void setLocation(String location) {
 		this.location = location;
+		renderCache.invalidate();
 	}
 
 	public void setFilledSlots(int filledSlots) {
 		this.filledSlots = filledSlots;
+		renderCache.invalidate();
 	}
 
 	public void setTotalSlots(int totalSlots) {
 		this.totalSlots = totalSlots;
+		renderCache.invalidate();
 	}
 
 	public void setFilledCampCommSlots(int filledCampCommSlots){
 		this.filledCampCommSlots = filledCampCommSlots;
+		renderCache.invalidate();
 	}
 
 	public void setCampCommSlots(int slots) {
 		this.campCommSlots = slots;
+		renderCache.invalidate();
 	}
 
 	public void setDescription(String description) {
 		this.description = description;
+		renderCache.invalidate();
 	}
 
 	public void setStaffID(String staffID) {
 		this.staffID = staffID;
+		renderCache.invalidate();
 	}
 
 	public void setVisibility(String visibility){
 		//true = on
 		//false = off
 		this.visibility = visibility;
+		renderCache.invalidate();
 	}
 
-	 /** TO DO 
-     * Display the complete information of the camp.
-     */
-    private String getSingleCampString() {
-        String campName = getCampName();
-        int maxTitleLength = 60;
-        String titleLine1;
-        String titleLine2;
-
-        if (campName.length() <= maxTitleLength) {
-            int leftPadding = (maxTitleLength - campName.length()) / 2;
-            int rightPadding = maxTitleLength - campName.length() - leftPadding;
-            titleLine1 = String.format("| %-" + leftPadding + "s%-" + campName.length() + "s%-" + rightPadding + "s |\n", "", campName, "");
-            titleLine2 = "";
-        } else {
-            String[] words = campName.split("\\s+");
-            String firstLine = "";
-            String secondLine = "";
-            //int remainingLength = maxTitleLength;
-            int i = 0;
-            while (i < words.length) {
-                if (firstLine.length() + words[i].length() + 1 <= maxTitleLength) {
-                    firstLine += words[i] + " ";
-                   // remainingLength = maxTitleLength - firstLine.length();
-                    i++;
-                } else {
-                    break;
-                }
-            }
-            for (; i < words.length; i++) {
-                if (secondLine.length() + words[i].length() + 1 <= maxTitleLength) {
-                    secondLine += words[i] + " ";
-                } else {
-                    break;
-                }
-            }
-            int leftPadding1 = (maxTitleLength - firstLine.length()) / 2;
-            int leftPadding2 = (maxTitleLength - secondLine.length()) / 2;
-            int rightPadding1 = maxTitleLength - firstLine.length() - leftPadding1;
-            int rightPadding2 = maxTitleLength - secondLine.length() - leftPadding2;
-            titleLine1 = String.format("| %-" + leftPadding1 + "s%-" + firstLine.length() + "s%-" + rightPadding1 + "s |\n", "", firstLine.trim(), "");
-            titleLine2 = String.format("| %-" + leftPadding2 + "s%-" + secondLine.length() + "s%-" + rightPadding2 + "s |\n", "", secondLine.trim(), "");
-        }
-
-        return titleLine1 + titleLine2 +
-                "|--------------------------------------------------------------|\n" +
-                String.format("| Camp ID                     | %-30s |\n", getID()) +
-                String.format("| Staff ID                    | %-30s |\n", getStaffID()) +
-                String.format("| Dates                       | %-30s |\n", getDates()) +
-				String.format("| Attendee Slots              | %s/%-29s|\n", getFilledSlots(), getTotalSlots())+
-				String.format("| Committee Slots             | %s/%-29s|\n", getFilledCampCommSlots(), getCampCommSlots())+
-				String.format("| Registration Closing        | %-30s |\n", getRegistrationClosingDate()) +
-				String.format("| Description                 | %-30s |\n", getDescription())+
-				String.format("| Open to                     | %-30s |\n", getOpenTo().toString())+
-				String.format("| Location                    | %-30s |\n", getLocation())+
-				String.format("| Visibility                  | %-30s |\n", getVisibility());
-    }
-
-	private String getSingleCampStringWithType(String type) {
-        String campName = getCampName();
-        int maxTitleLength = 60;
-        String titleLine1;
-        String titleLine2;
-
-        if (campName.length() <= maxTitleLength) {
-            int leftPadding = (maxTitleLength - campName.length()) / 2;
-            int rightPadding = maxTitleLength - campName.length() - leftPadding;
-            titleLine1 = String.format("| %-" + leftPadding + "s%-" + campName.length() + "s%-" + rightPadding + "s |\n", "", campName, "");
-            titleLine2 = "";
-        } else {
-            String[] words = campName.split("\\s+");
-            String firstLine = "";
-            String secondLine = "";
-            //int remainingLength = maxTitleLength;
-            int i = 0;
-            while (i < words.length) {
-                if (firstLine.length() + words[i].length() + 1 <= maxTitleLength) {
-                    firstLine += words[i] + " ";
-              //      remainingLength = maxTitleLength - firstLine.length();
-                    i++;
-                } else {
-                    break;
-                }
-            }
-            for (; i < words.length; i++) {
-                if (secondLine.length() + words[i].length() + 1 <= maxTitleLength) {
-                    secondLine += words[i] + " ";
-                } else {
-                    break;
-                }
-            }
-            int leftPadding1 = (maxTitleLength - firstLine.length()) / 2;
-            int leftPadding2 = (maxTitleLength - secondLine.length()) / 2;
-            int rightPadding1 = maxTitleLength - firstLine.length() - leftPadding1;
-            int rightPadding2 = maxTitleLength - secondLine.length() - leftPadding2;
-            titleLine1 = String.format("| %-" + leftPadding1 + "s%-" + firstLine.length() + "s%-" + rightPadding1 + "s |\n", "", firstLine.trim(), "");
-            titleLine2 = String.format("| %-" + leftPadding2 + "s%-" + secondLine.length() + "s%-" + rightPadding2 + "s |\n", "", secondLine.trim(), "");
-        }
-
-        return titleLine1 + titleLine2 +
-                "|--------------------------------------------------------------|\n" +
-                String.format("| Camp ID                     | %-30s |\n", getID()) +
-                String.format("| Staff ID                    | %-30s |\n", getStaffID()) +
-                String.format("| Dates                       | %-30s |\n", getDates()) +
-				String.format("| Attendee Slots              | %s/%-29s|\n", getFilledSlots(), getTotalSlots())+
-				String.format("| Committee Slots             | %s/%-29s|\n", getFilledCampCommSlots(), getCampCommSlots())+
-				String.format("| Registration Closing        | %-30s |\n", getRegistrationClosingDate()) +
-				String.format("| Description                 | %-30s |\n", getDescription())+
-				String.format("| Location                    | %-30s |\n", getLocation())+
-				String.format("| Open to                     | %-30s |\n", getOpenTo().toString())+
-				String.format("| Location                    | %-30s |\n", getLocation())+
-				String.format("| Visibility                  | %-30s |\n", getVisibility())+
-				String.format("| Attending as a              | %-30s |\n", type);
-    }
-
+	/**
+	 * Builds the table showing the complete information of the camp.
+	 *
+	 * @return the table, to which rows can still be added
+	 */
+	private TableLayout.Table getCampTable() {
+		return LAYOUT.newTable()
+				.title(getCampName())
+				.divider()
+				.row("Camp ID", getID())
+				.row("Staff ID", getStaffID())
+				.row("Dates", getDates())
+				.row("Attendee Slots", getFilledSlots() + "/" + getTotalSlots())
+				.row("Committee Slots", getFilledCampCommSlots() + "/" + getCampCommSlots())
+				.row("Registration Closing", getRegistrationClosingDate())
+				.row("Description", getDescription())
+				.row("Open to", getOpenTo())
+				.row("Location", getLocation())
+				.row("Visibility", getVisibility());
+	}
 
     // Getters and setters for various attributes...
 
@@ -312,7 +380,7 @@ public class Camp implements Model, Displayable {
      */
 	@Override
     public String getDisplayableString() {
-        return getSingleCampString();
+        return renderCache.get(null, () -> getCampTable().toString());
     }
 
     /**
@@ -332,7 +400,7 @@ public class Camp implements Model, Displayable {
      * @return The displayable string of the camp with type information.
      */
 	public String getDisplayableStringWithType(String type) {
-		return getSingleCampStringWithType(type);
+		return renderCache.get(type, () -> getCampTable().row("Attending as a", type).toString());
 	}
 
 }
\ No newline at end of file
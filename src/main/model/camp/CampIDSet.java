@@ -0,0 +1,313 @@
+package main.model.camp;
+
+import main.utils.parameters.EmptyID;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The CampIDSet class is an immutable set of camp IDs, held as a sorted array of camp
+ * ordinals.
+ * <p>
+ * A camp ID of the form {@code C<number>}, as given to every camp created by the system, has
+ * its number as ordinal, so it is converted without a lookup. Any other camp ID is interned
+ * and given a negative ordinal, keeping its spelling. Membership tests are binary searches
+ * that do not allocate for IDs of the form {@code C<number>}.
+ * <p>
+ * The text form of a set is its camp IDs joined with commas in ordinal order, or
+ * {@link EmptyID#EMPTY_ID} for the empty set, the same form the sets had when they were kept
+ * as Strings.
+ */
+public final class CampIDSet implements Iterable<String> {
+	/**
+	 * The empty set.
+	 */
+	public static final CampIDSet EMPTY = new CampIDSet(new int[0]);
+
+	/**
+	 * The negative ordinal of each interned camp ID, keyed by the upper-cased ID.
+	 */
+	private static final Map<String, Integer> INTERNED_ORDINALS = new HashMap<>();
+
+	/**
+	 * The interned camp IDs, spelled as they were first interned, where the ID with ordinal
+	 * {@code -n} is at index {@code n - 1}.
+	 */
+	private static final List<String> INTERNED_IDS = new ArrayList<>();
+
+	/**
+	 * The camp ordinals in the set, sorted and distinct.
+	 */
+	private final int[] ordinals;
+
+	private CampIDSet(int[] ordinals) {
+		this.ordinals = ordinals;
+	}
+
+	/**
+	 * Parses the text form of a set of camp IDs.
+	 *
+	 * @param text the camp IDs joined with commas, or an empty ID
+	 * @return the set of camp IDs
+	 */
+	public static CampIDSet valueOf(String text) {
+		if (EmptyID.isEmptyID(text)) {
+			return EMPTY;
+		}
+		int[] ordinals = new int[8];
+		int count = 0;
+		int start = 0;
+		while (start <= text.length()) {
+			int end = text.indexOf(',', start);
+			if (end < 0) {
+				end = text.length();
+			}
+			String campID = text.substring(start, end).trim();
+			if (!EmptyID.isEmptyID(campID)) {
+				if (count == ordinals.length) {
+					ordinals = Arrays.copyOf(ordinals, count * 2);
+				}
+				ordinals[count++] = intern(campID);
+			}
+			start = end + 1;
+		}
+		if (count == 0) {
+			return EMPTY;
+		}
+		int[] sorted = Arrays.copyOf(ordinals, count);
+		Arrays.sort(sorted);
+		int distinct = 1;
+		for (int i = 1; i < sorted.length; i++) {
+			if (sorted[i] != sorted[distinct - 1]) {
+				sorted[distinct++] = sorted[i];
+			}
+		}
+		return new CampIDSet(distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct));
+	}
+
+	/**
+	 * Creates a set holding one camp ID.
+	 *
+	 * @param campID the camp ID
+	 * @return the set of camp IDs
+	 */
+	public static CampIDSet of(String campID) {
+		return EMPTY.with(campID);
+	}
+
+	/**
+	 * Checks whether the set holds a camp ID, ignoring case.
+	 *
+	 * @param campID the camp ID
+	 * @return true if the set holds the camp ID, false otherwise
+	 */
+	public boolean contains(String campID) {
+		if (campID == null || ordinals.length == 0) {
+			return false;
+		}
+		campID = campID.trim();
+		int ordinal = numberOf(campID);
+		if (ordinal < 0) {
+			Integer interned;
+			synchronized (INTERNED_IDS) {
+				interned = INTERNED_ORDINALS.get(campID.toUpperCase(Locale.ROOT));
+			}
+			if (interned == null) {
+				return false;
+			}
+			ordinal = interned;
+		}
+		return Arrays.binarySearch(ordinals, ordinal) >= 0;
+	}
+
+	/**
+	 * Gets the set with a camp ID added.
+	 *
+	 * @param campID the camp ID to add
+	 * @return the set with the camp ID, which is this set if it already holds it
+	 */
+	public CampIDSet with(String campID) {
+		if (EmptyID.isEmptyID(campID)) {
+			return this;
+		}
+		int ordinal = intern(campID);
+		int position = Arrays.binarySearch(ordinals, ordinal);
+		if (position >= 0) {
+			return this;
+		}
+		int insertion = -position - 1;
+		int[] added = new int[ordinals.length + 1];
+		System.arraycopy(ordinals, 0, added, 0, insertion);
+		added[insertion] = ordinal;
+		System.arraycopy(ordinals, insertion, added, insertion + 1, ordinals.length - insertion);
+		return new CampIDSet(added);
+	}
+
+	/**
+	 * Gets the set with a camp ID removed.
+	 *
+	 * @param campID the camp ID to remove
+	 * @return the set without the camp ID, which is this set if it does not hold it
+	 */
+	public CampIDSet without(String campID) {
+		if (!contains(campID)) {
+			return this;
+		}
+		if (ordinals.length == 1) {
+			return EMPTY;
+		}
+		int position = Arrays.binarySearch(ordinals, intern(campID));
+		int[] removed = new int[ordinals.length - 1];
+		System.arraycopy(ordinals, 0, removed, 0, position);
+		System.arraycopy(ordinals, position + 1, removed, position, ordinals.length - position - 1);
+		return new CampIDSet(removed);
+	}
+
+	/**
+	 * Checks whether the set is empty.
+	 *
+	 * @return true if the set holds no camp ID, false otherwise
+	 */
+	public boolean isEmpty() {
+		return ordinals.length == 0;
+	}
+
+	/**
+	 * Gets the number of camp IDs in the set.
+	 *
+	 * @return the number of camp IDs
+	 */
+	public int size() {
+		return ordinals.length;
+	}
+
+	/**
+	 * Returns an iterator over the camp IDs in the set, in ordinal order.
+	 *
+	 * @return an iterator over the camp IDs
+	 */
+	@Override
+	public Iterator<String> iterator() {
+		return new Iterator<>() {
+			private int position = 0;
+
+			@Override
+			public boolean hasNext() {
+				return position < ordinals.length;
+			}
+
+			@Override
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return campIDOf(ordinals[position++]);
+			}
+		};
+	}
+
+	/**
+	 * Gets the text form of the set.
+	 *
+	 * @return the camp IDs joined with commas, or {@link EmptyID#EMPTY_ID} if the set is empty
+	 */
+	@Override
+	public String toString() {
+		if (ordinals.length == 0) {
+			return EmptyID.EMPTY_ID;
+		}
+		StringBuilder stringBuilder = new StringBuilder(ordinals.length * 4);
+		for (int i = 0; i < ordinals.length; i++) {
+			if (i > 0) {
+				stringBuilder.append(',');
+			}
+			if (ordinals[i] >= 0) {
+				stringBuilder.append('C').append(ordinals[i]);
+			} else {
+				stringBuilder.append(campIDOf(ordinals[i]));
+			}
+		}
+		return stringBuilder.toString();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof CampIDSet campIDSet && Arrays.equals(ordinals, campIDSet.ordinals);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(ordinals);
+	}
+
+	/**
+	 * Gets the ordinal of a camp ID, interning it if it is not of the form {@code C<number>}.
+	 * IDs that differ only in case share an ordinal, which keeps the spelling first interned.
+	 *
+	 * @param campID the camp ID
+	 * @return the ordinal of the camp ID
+	 */
+	private static int intern(String campID) {
+		campID = campID.trim();
+		int number = numberOf(campID);
+		if (number >= 0) {
+			return number;
+		}
+		String key = campID.toUpperCase(Locale.ROOT);
+		synchronized (INTERNED_IDS) {
+			Integer ordinal = INTERNED_ORDINALS.get(key);
+			if (ordinal == null) {
+				INTERNED_IDS.add(campID);
+				ordinal = -INTERNED_IDS.size();
+				INTERNED_ORDINALS.put(key, ordinal);
+			}
+			return ordinal;
+		}
+	}
+
+	/**
+	 * Gets the camp ID with an ordinal.
+	 *
+	 * @param ordinal the ordinal
+	 * @return the camp ID
+	 */
+	private static String campIDOf(int ordinal) {
+		if (ordinal >= 0) {
+			return "C" + ordinal;
+		}
+		synchronized (INTERNED_IDS) {
+			return INTERNED_IDS.get(-ordinal - 1);
+		}
+	}
+
+	/**
+	 * Reads the number of a camp ID of the form {@code C<number>}, ignoring case, without
+	 * allocating. A number with a leading zero is not of that form, so that every ID keeps
+	 * its text.
+	 *
+	 * @param campID the camp ID
+	 * @return the number, or -1 if the camp ID is not of the form {@code C<number>}
+	 */
+	private static int numberOf(String campID) {
+		int length = campID.length();
+		if (length < 2 || length > 10 || (campID.charAt(0) != 'C' && campID.charAt(0) != 'c')
+				|| (campID.charAt(1) == '0' && length > 2)) {
+			return -1;
+		}
+		int number = 0;
+		for (int i = 1; i < length; i++) {
+			char digit = campID.charAt(i);
+			if (digit < '0' || digit > '9') {
+				return -1;
+			}
+			number = number * 10 + (digit - '0');
+		}
+		return number;
+	}
+}
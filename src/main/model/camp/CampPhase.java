@@ -0,0 +1,44 @@
+package main.model.camp;
+
+/**
+ * The CampPhase enum represents where a camp is in its life on a given day.
+ * Phases include OPEN, CLOSED and ARCHIVED.
+ */
+public enum CampPhase {
+
+    /**
+     * Registration for the camp is open.
+     */
+    OPEN,
+
+    /**
+     * Registration for the camp has closed, but the camp has not finished yet.
+     */
+    CLOSED,
+
+    /**
+     * The camp has finished.
+     */
+    ARCHIVED;
+
+    /**
+     * Gets the phase of a camp on a given day. Registration is closed from the camp's
+     * registration closing date on, and the camp is archived from the day after its last day.
+     * A camp whose registration closing date cannot be parsed is treated as closed.
+     *
+     * @param camp     the camp
+     * @param epochDay the day, as a count of days since 1970-01-01
+     * @return the phase of the camp on that day
+     */
+    public static CampPhase of(Camp camp, long epochDay) {
+        long endEpochDay = camp.getEndEpochDay();
+        if (endEpochDay != Camp.INVALID_EPOCH_DAY && epochDay > endEpochDay) {
+            return ARCHIVED;
+        }
+        long closingEpochDay = camp.getRegistrationClosingEpochDay();
+        if (closingEpochDay == Camp.INVALID_EPOCH_DAY || epochDay >= closingEpochDay) {
+            return CLOSED;
+        }
+        return OPEN;
+    }
+}
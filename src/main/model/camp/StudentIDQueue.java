@@ -0,0 +1,177 @@
+package main.model.camp;
+
+import main.utils.parameters.EmptyID;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The StudentIDQueue class is a first-in, first-out queue of distinct student IDs.
+ * <p>
+ * Joining the back and leaving the front of the queue take constant time, and so does
+ * checking whether a student is queued. Leaving from the middle of the queue is only done
+ * when a student withdraws from it and takes time linear in the length of the queue.
+ * <p>
+ * The text form of a queue is its student IDs joined with commas from front to back, or
+ * {@link EmptyID#EMPTY_ID} for the empty queue. The methods are synchronized, so a queue
+ * can be written to its data file while another thread changes it.
+ */
+public final class StudentIDQueue {
+	/**
+	 * The student IDs, from front to back.
+	 */
+	private final ArrayDeque<String> studentIDs = new ArrayDeque<>();
+
+	/**
+	 * The upper-cased student IDs in the queue.
+	 */
+	private final Set<String> members = new HashSet<>();
+
+	/**
+	 * Constructs an empty queue.
+	 */
+	public StudentIDQueue() {
+	}
+
+	/**
+	 * Parses the text form of a queue of student IDs.
+	 *
+	 * @param text the student IDs joined with commas, or an empty ID
+	 * @return the queue of student IDs
+	 */
+	public static StudentIDQueue valueOf(String text) {
+		StudentIDQueue queue = new StudentIDQueue();
+		if (EmptyID.isEmptyID(text)) {
+			return queue;
+		}
+		for (String studentID : text.split(",")) {
+			if (!EmptyID.isEmptyID(studentID.trim())) {
+				queue.offer(studentID.trim());
+			}
+		}
+		return queue;
+	}
+
+	/**
+	 * Adds a student to the back of the queue.
+	 *
+	 * @param studentID the ID of the student
+	 * @return true if the student was added, false if the student was already queued
+	 */
+	public synchronized boolean offer(String studentID) {
+		if (!members.add(studentID.toUpperCase(Locale.ROOT))) {
+			return false;
+		}
+		studentIDs.addLast(studentID);
+		return true;
+	}
+
+	/**
+	 * Removes the student at the front of the queue.
+	 *
+	 * @return the ID of the student, or null if the queue is empty
+	 */
+	public synchronized String poll() {
+		String studentID = studentIDs.pollFirst();
+		if (studentID != null) {
+			members.remove(studentID.toUpperCase(Locale.ROOT));
+		}
+		return studentID;
+	}
+
+	/**
+	 * Puts a student back at the front of the queue, undoing a {@link #poll()}.
+	 *
+	 * @param studentID the ID of the student
+	 */
+	public synchronized void pushFront(String studentID) {
+		if (members.add(studentID.toUpperCase(Locale.ROOT))) {
+			studentIDs.addFirst(studentID);
+		}
+	}
+
+	/**
+	 * Removes a student from anywhere in the queue.
+	 *
+	 * @param studentID the ID of the student
+	 * @return true if the student was queued, false otherwise
+	 */
+	public synchronized boolean remove(String studentID) {
+		if (!members.remove(studentID.toUpperCase(Locale.ROOT))) {
+			return false;
+		}
+		studentIDs.removeIf(queued -> queued.equalsIgnoreCase(studentID));
+		return true;
+	}
+
+	/**
+	 * Checks whether a student is queued.
+	 *
+	 * @param studentID the ID of the student
+	 * @return true if the student is queued, false otherwise
+	 */
+	public synchronized boolean contains(String studentID) {
+		return members.contains(studentID.toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * Gets the position of a student in the queue, counting from one at the front.
+	 *
+	 * @param studentID the ID of the student
+	 * @return the position of the student, or -1 if the student is not queued
+	 */
+	public synchronized int positionOf(String studentID) {
+		if (!contains(studentID)) {
+			return -1;
+		}
+		int position = 1;
+		for (String queued : studentIDs) {
+			if (queued.equalsIgnoreCase(studentID)) {
+				return position;
+			}
+			position++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the number of students in the queue.
+	 *
+	 * @return the number of students
+	 */
+	public synchronized int size() {
+		return studentIDs.size();
+	}
+
+	/**
+	 * Checks whether the queue is empty.
+	 *
+	 * @return true if no student is queued, false otherwise
+	 */
+	public synchronized boolean isEmpty() {
+		return studentIDs.isEmpty();
+	}
+
+	/**
+	 * Gets the student IDs in the queue.
+	 *
+	 * @return a copy of the student IDs, from front to back
+	 */
+	public synchronized List<String> toList() {
+		return new ArrayList<>(studentIDs);
+	}
+
+	/**
+	 * Gets the text form of the queue.
+	 *
+	 * @return the student IDs joined with commas, or {@link EmptyID#EMPTY_ID} if the queue is empty
+	 */
+	@Override
+	public synchronized String toString() {
+		return studentIDs.isEmpty() ? EmptyID.EMPTY_ID : String.join(",", studentIDs);
+	}
+}
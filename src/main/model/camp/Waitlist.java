@@ -0,0 +1,127 @@
+package main.model.camp;
+
+import main.model.Model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Waitlist class represents the queue of students waiting for an attendee slot of a
+ * full camp. Students are offered a free slot in the order they joined the queue.
+ * It implements the Model interface, and has the ID of its camp.
+ */
+public class Waitlist implements Model {
+
+	/**
+	 * The largest number of students that can wait for a slot of one camp.
+	 */
+	public static final int CAPACITY = 50;
+
+	private String campID;
+	private StudentIDQueue studentIDs = new StudentIDQueue();
+
+	/**
+	 * Constructs an empty Waitlist for a camp.
+	 *
+	 * @param campID The ID of the camp.
+	 */
+	public Waitlist(String campID) {
+		this.campID = campID;
+	}
+
+	/**
+	 * Constructs a Waitlist object from a map of attributes.
+	 *
+	 * @param map A map containing attribute-value pairs for initializing the Waitlist object.
+	 */
+	public Waitlist(Map<String, String> map) {
+		fromMap(map);
+	}
+
+	/**
+	 * Constructs an empty Waitlist object, whose fields are then read from a binary data file.
+	 */
+	private Waitlist() {
+	}
+
+	// Methods
+	public String getID() {
+		return this.campID;
+	}
+
+	public String getCampID() {
+		return this.campID;
+	}
+
+	/**
+	 * Adds a student to the back of the waitlist.
+	 *
+	 * @param studentID The ID of the student.
+	 * @return true if the student was added, false if the student was already waiting or
+	 * the waitlist is full.
+	 */
+	public synchronized boolean offer(String studentID) {
+		if (studentIDs.size() >= CAPACITY) {
+			return false;
+		}
+		return studentIDs.offer(studentID);
+	}
+
+	/**
+	 * Removes the student at the front of the waitlist.
+	 *
+	 * @return The ID of the student, or null if nobody is waiting.
+	 */
+	public synchronized String poll() {
+		return studentIDs.poll();
+	}
+
+	/**
+	 * Puts a student back at the front of the waitlist, undoing a {@link #poll()}.
+	 *
+	 * @param studentID The ID of the student.
+	 */
+	public synchronized void pushFront(String studentID) {
+		studentIDs.pushFront(studentID);
+	}
+
+	/**
+	 * Removes a student from the waitlist.
+	 *
+	 * @param studentID The ID of the student.
+	 * @return true if the student was waiting, false otherwise.
+	 */
+	public synchronized boolean remove(String studentID) {
+		return studentIDs.remove(studentID);
+	}
+
+	public boolean contains(String studentID) {
+		return studentIDs.contains(studentID);
+	}
+
+	/**
+	 * Gets the position of a student in the waitlist, counting from one at the front.
+	 *
+	 * @param studentID The ID of the student.
+	 * @return The position of the student, or -1 if the student is not waiting.
+	 */
+	public int getPosition(String studentID) {
+		return studentIDs.positionOf(studentID);
+	}
+
+	public int size() {
+		return studentIDs.size();
+	}
+
+	public boolean isEmpty() {
+		return studentIDs.isEmpty();
+	}
+
+	public boolean isFull() {
+		return studentIDs.size() >= CAPACITY;
+	}
+
+	public List<String> getStudentIDs() {
+		return studentIDs.toList();
+	}
+}
@@ -15,6 +15,8 @@ import main.model.user.Student;
 import main.repository.request.EnquiryRepository;
 import main.repository.user.StudentRepository;
 import main.utils.parameters.EmptyID;
+import main.utils.ui.RenderCache;
+import main.utils.ui.TableLayout;
 
 /**
  * The Enquiry class represents an inquiry request made by a student regarding a camp.
@@ -30,6 +32,16 @@ public class Enquiry implements Request {
 	private String message;
 	private String reply;
 
+	/**
+	 * The layout of the table the enquiry is displayed in.
+	 */
+	private static final TableLayout LAYOUT = new TableLayout(22, 24);
+
+	/**
+	 * The displayable strings of the enquiry, made again after any setter is called.
+	 */
+	private final transient RenderCache renderCache = new RenderCache();
+
     /**
      * Constructor for creating an Enquiry object.
      *
@@ -57,6 +69,12 @@ public class Enquiry implements Request {
 		fromMap(map);
 	}
 
+	/**
+	 * Constructs an empty Enquiry object, whose fields are then read from a binary data file.
+	 */
+	private Enquiry() {
+	}
+
 	// Methods
 	public String getID() {
 		return this.requestID;
@@ -88,30 +106,37 @@ public class Enquiry implements Request {
 
 	public void setID(String requestID) {
 		this.requestID = requestID;
+		renderCache.invalidate();
 	}
 
 	public void setCampID(String campID) {
 		this.campID = campID;
+		renderCache.invalidate();
 	}
 
 	public void setSenderID(String senderID) {
 		this.senderID = senderID;
+		renderCache.invalidate();
 	}
 
 	public void setReplierID(String replierID) {
 		this.replierID = replierID;
+		renderCache.invalidate();
 	}
 
 	public void setMessage(String message) {
 		this.message = message;
+		renderCache.invalidate();
 	}
 
 	public void setReply(String reply) {
 		this.reply = reply;
+		renderCache.invalidate();
 	}
 
 	public void setRequestStatus(RequestStatus status) {
 		this.requestStatus = status;
+		renderCache.invalidate();
 	}
 
 
@@ -123,22 +148,7 @@ public class Enquiry implements Request {
      * @return A formatted string containing key information about the inquiry request.
      */
 	public String getDisplayableString() {
-		String status = null;
-		if (getRequestStatus() == RequestStatus.PENDING)
-			status = "PENDING";
-		else if (getRequestStatus() == RequestStatus.REPLIED)
-			status = "REPLIED";
-		else
-			status = "ERROR";
-
-		return String.format("|                     %-26s    |\n", status) +
-				"|---------------------------------------------------|\n" +
-				String.format("| Enquiry ID             | %-24s |\n", getID()) +
-				String.format("| Student ID             | %-24s |\n", getSenderID()) +
-				String.format("| Camp ID                | %-24s |\n", getCampID()) +
-				String.format("| Message                | %-24s |\n", getMessage()) +
-				String.format("| Reply                  | %-24s |\n", getReply()) +
-				String.format("| Replier ID             | %-24s |\n", getReplierID());
+		return renderCache.get(null, () -> getEnquiryTable(21));
 	}
 
 	// method for show
@@ -150,6 +160,16 @@ public class Enquiry implements Request {
      * @return A formatted string containing key information about the inquiry request.
      */
 	public String getDisplayableStringWithType(String type) {
+		return renderCache.get(type, () -> getEnquiryTable(23));
+	}
+
+	/**
+	 * Builds the table showing the details of the inquiry request.
+	 *
+	 * @param statusIndent The number of spaces before the status.
+	 * @return The table.
+	 */
+	private String getEnquiryTable(int statusIndent) {
 		String status = null;
 		if (getRequestStatus() == RequestStatus.PENDING)
 			status = "PENDING";
@@ -158,14 +178,16 @@ public class Enquiry implements Request {
 		else
 			status = "ERROR";
 
-		return String.format("|                       %-24s    |\n", status) +
-				"|---------------------------------------------------|\n" +
-				String.format("| Enquiry ID             | %-24s |\n", getID()) +
-				String.format("| Student ID             | %-24s |\n", getSenderID()) +
-				String.format("| Camp ID                | %-24s |\n", getCampID()) +
-				String.format("| Message                | %-24s |\n", getMessage()) +
-				String.format("| Reply                  | %-24s |\n", getReply()) +
-				String.format("| Replier ID             | %-24s |\n", getReplierID());
+		return LAYOUT.newTable()
+				.text(statusIndent, status)
+				.divider()
+				.row("Enquiry ID", getID())
+				.row("Student ID", getSenderID())
+				.row("Camp ID", getCampID())
+				.row("Message", getMessage())
+				.row("Reply", getReply())
+				.row("Replier ID", getReplierID())
+				.toString();
 	}
 
 }
\ No newline at end of file
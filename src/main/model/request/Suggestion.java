@@ -7,6 +7,8 @@ package main.model.request;
 import main.model.user.Faculty;
 import java.util.Map;
 import main.utils.parameters.EmptyID;
+import main.utils.ui.RenderCache;
+import main.utils.ui.TableLayout;
 
 /**
  * The Suggestion class represents a request made by a student to suggest edits
@@ -30,6 +32,16 @@ public class Suggestion implements Request {
 	private String description;
 	private String campStaff;
 
+	/**
+	 * The layout of the table the suggestion is displayed in.
+	 */
+	private static final TableLayout LAYOUT = new TableLayout(25, 21);
+
+	/**
+	 * The displayable strings of the suggestion, made again after any setter is called.
+	 */
+	private final transient RenderCache renderCache = new RenderCache();
+
     /**
      * Constructor for creating a Suggestion object with essential information.
      *
@@ -62,6 +74,12 @@ public class Suggestion implements Request {
 		fromMap(map);
 	}
 
+	/**
+	 * Constructs an empty Suggestion object, whose fields are then read from a binary data file.
+	 */
+	private Suggestion() {
+	}
+
 	// Methods
 	public String getID() {
 		return this.requestID;
@@ -138,123 +156,140 @@ public class Suggestion implements Request {
 
 	public void setID(String requestID) {
 		this.requestID = requestID;
+		renderCache.invalidate();
 	}
 
 	public void setCampID(String campID) {
 		this.campID = campID;
+		renderCache.invalidate();
 	}
 
 	public void setSenderID(String studentID) {
 		this.studentID = studentID;
+		renderCache.invalidate();
 	}
 
 	public void setReplierID(String staffID) {
 		this.staffID = staffID;
+		renderCache.invalidate();
 	}
 
 	public void setRequestStatus(RequestStatus status) {
 		this.requestStatus = status;
+		renderCache.invalidate();
 	}
 
 	public void setCampName(String campName) {
 		this.campName = campName;
+		renderCache.invalidate();
 	}
 
 	public void setDates(String campDates) {
 		this.campDates = campDates;
+		renderCache.invalidate();
 	}
 
 	public void setRegistrationClosingDate(String registrationClosing) {
 		this.registrationClosing = registrationClosing;
+		renderCache.invalidate();
 	}
 
 	public void setCampType(Faculty faculty) {
 		this.faculty = faculty;
+		renderCache.invalidate();
 	}
 
 	public void setLocation(String location) {
 		this.location = location;
+		renderCache.invalidate();
 	}
 
 	public void setTotalSlots(int totalSlots) {
 		this.totalSlots = totalSlots;
+		renderCache.invalidate();
 	}
 
 	public void setCampCommSlots(int campCommSlots) {
 		this.campCommSlots = campCommSlots;
+		renderCache.invalidate();
 	}
 
 	public void setDescription(String description) {
 		this.description = description;
+		renderCache.invalidate();
 	}
 
 	public void setCampStaff(String campStaff) {
 		this.campStaff = campStaff;
+		renderCache.invalidate();
 	}
 	
     /**
      * {@inheritDoc}
      */
 	public String getDisplayableString() {
-		String status = null;
-		if (getRequestStatus() == RequestStatus.PENDING)
-			status = "PENDING"; // add colors to statuses
-		else if (getRequestStatus() == RequestStatus.APPROVED)
-			status = "APPROVED";
-		else if (getRequestStatus() == RequestStatus.DENIED)
-			status = "DENIED";
-		else
-			status = "ERROR";
-
-		StringBuilder result = new StringBuilder(String.format("|                     %-26s    |\n", status) +
-				"|---------------------------------------------------|\n" +
-				String.format("| Enquiry ID                | %-21s |\n", getID()) +
-				String.format("| Student ID                | %-21s |\n", getSenderID()) +
-				String.format("| Camp ID                   | %-21s |\n", getCampID()) +
-				"|---------------------------------------------------|\n" +
-				String.format("|                 Suggested Edits                   |\n") +
-				"|---------------------------------------------------|\n");
-
-		// Check and display suggested edits only if they are not null for string stuff
-		// or -1 for int or "NA" for faculty
-		if (!getCampName().equals("null")) {
-			result.append(String.format("| Camp Name                 | %-21s |\n", getCampName()));
-		}
-		if (!getDates().equals("null")) {
-			result.append(String.format("| Camp Dates                | %-21s |\n", getDates()));
-		}
-		if (!getRegistrationClosingDate().equals("null")) {
-			result.append(String.format("| Registration Closing Date | %-21s |\n", getRegistrationClosingDate()));
-		}
-		if (!getCampTypeString(this.faculty).equals("null")) {
-			result.append(String.format("| Camp Type                 | %-21s |\n", getCampTypeString(this.faculty)));
-		}
-		if (!getLocation().equals("null")) {
-			result.append(String.format("| Location                  | %-21s |\n", getLocation()));
-		}
-		if (getTotalSlots() != -1) {
-			result.append(String.format("| Camp Attendee Total slots | %-21s |\n", getTotalSlots()));
-		}
-		if (getCampCommSlots() != -1) {
-			result.append(String.format("| Camp Commitee Total slots | %-22s|\n", getCampCommSlots()));
-		}
-		if (!getDescription().equals("null")) {
-			result.append(String.format("| Camp Description          | %-21s |\n", getDescription()));
-		}
-		if (!getCampStaff().equals("null")) {
-			result.append(String.format("| Camp Staff id in charge | %-21s |\n", getCampStaff()));
-		}
-
-		return result.toString();
+		return renderCache.get(null, () -> {
+			TableLayout.Table table = getSuggestionTable();
+
+			// Check and display suggested edits only if they are not null for string stuff
+			// or -1 for int or "NA" for faculty
+			if (!getCampName().equals("null")) {
+				table.row("Camp Name", getCampName());
+			}
+			if (!getDates().equals("null")) {
+				table.row("Camp Dates", getDates());
+			}
+			if (!getRegistrationClosingDate().equals("null")) {
+				table.row("Registration Closing Date", getRegistrationClosingDate());
+			}
+			if (!getCampTypeString(this.faculty).equals("null")) {
+				table.row("Camp Type", getCampTypeString(this.faculty));
+			}
+			if (!getLocation().equals("null")) {
+				table.row("Location", getLocation());
+			}
+			if (getTotalSlots() != -1) {
+				table.row("Camp Attendee Total slots", getTotalSlots());
+			}
+			if (getCampCommSlots() != -1) {
+				table.row("Camp Commitee Total slots", getCampCommSlots());
+			}
+			if (!getDescription().equals("null")) {
+				table.row("Camp Description", getDescription());
+			}
+			if (!getCampStaff().equals("null")) {
+				table.row("Camp Staff id in charge", getCampStaff());
+			}
+			return table.toString();
+		});
 	}
 
     /**
      * {@inheritDoc}
      */
 	public String getDisplayableStringWithType(String type) {
+		return renderCache.get(type, () -> getSuggestionTable()
+				.row("Camp Name", getCampName())
+				.row("Camp Dates", getDates())
+				.row("Registration Closing Date", getRegistrationClosingDate())
+				.row("Camp Type", getCampTypeString(this.faculty))
+				.row("Location", getLocation())
+				.row("Attendee Slots", getTotalSlots())
+				.row("Committee Slots", getCampCommSlots())
+				.row("Description", getDescription())
+				.row("Staff in Charge", getCampStaff())
+				.toString());
+	}
+
+	/**
+	 * Builds the part of the table showing the suggestion before its suggested edits.
+	 *
+	 * @return The table, to which the suggested edits are added.
+	 */
+	private TableLayout.Table getSuggestionTable() {
 		String status = null;
 		if (getRequestStatus() == RequestStatus.PENDING)
-			status = "PENDING"; // add colours to statuses
+			status = "PENDING"; // add colors to statuses
 		else if (getRequestStatus() == RequestStatus.APPROVED)
 			status = "APPROVED";
 		else if (getRequestStatus() == RequestStatus.DENIED)
@@ -262,23 +297,15 @@ public class Suggestion implements Request {
 		else
 			status = "ERROR";
 
-		return String.format("|                     %-26s    |\n", status) +
-				"|---------------------------------------------------|\n" +
-				String.format("| Enquiry ID                | %-21s |\n", getID()) +
-				String.format("| Student ID                | %-21s |\n", getSenderID()) +
-				String.format("| Camp ID                   | %-21s |\n", getCampID()) +
-				"|---------------------------------------------------|\n" +
-				String.format("|                 Suggested Edits                   |\n") +
-				"|---------------------------------------------------|\n" +
-				String.format("| Camp Name                 | %-21s |\n", getCampName()) +
-				String.format("| Camp Dates                | %-21s |\n", getDates()) +
-				String.format("| Registration Closing Date | %-21s |\n", getRegistrationClosingDate()) +
-				String.format("| Camp Type                 | %-21s |\n", getCampTypeString(this.faculty)) +
-				String.format("| Location                  | %-21s |\n", getLocation()) +
-				String.format("| Attendee Slots            | %-21s |\n", getTotalSlots()) +
-				String.format("| Committee Slots           | %-21s |\n", getCampCommSlots()) +
-				String.format("| Description               | %-21s |\n", getDescription()) +
-				String.format("| Staff in Charge           | %-21s |\n", getCampStaff());
+		return LAYOUT.newTable()
+				.text(21, status)
+				.divider()
+				.row("Enquiry ID", getID())
+				.row("Student ID", getSenderID())
+				.row("Camp ID", getCampID())
+				.divider()
+				.text(17, "Suggested Edits")
+				.divider();
 	}
 
 }
\ No newline at end of file
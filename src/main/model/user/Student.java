@@ -7,6 +7,7 @@
  */
 package main.model.user;
 
+import main.model.camp.CampIDSet;
 import main.utils.parameters.EmptyID;
 import main.utils.parameters.NotNull;
 
@@ -35,11 +36,20 @@ public class Student implements User {
 
 	private String hashedPassword;
 
-	private String aCamps;
+	/**
+	 * The camps the student attends.
+	 */
+	private CampIDSet aCamps;
 
-	private String cCamps;
+	/**
+	 * The camp the student is a camp committee member of, held as a set of at most one camp.
+	 */
+	private CampIDSet cCamps;
 
-	private String pCamps;
+	/**
+	 * The camps the student has withdrawn from.
+	 */
+	private CampIDSet pCamps;
 
 	private Faculty faculty;
 
@@ -57,10 +67,10 @@ public class Student implements User {
 		this.studentID = studentID;
 		this.studentName = studentName;
 		this.email = email;
-		this.aCamps = EmptyID.EMPTY_ID;
-		this.cCamps = EmptyID.EMPTY_ID;
+		this.aCamps = CampIDSet.EMPTY;
+		this.cCamps = CampIDSet.EMPTY;
 		this.faculty = faculty;
-		this.pCamps = EmptyID.EMPTY_ID;
+		this.pCamps = CampIDSet.EMPTY;
 		this.points = 0;
 	}
 
@@ -77,10 +87,10 @@ public class Student implements User {
 		this.studentID = studentID;
 		this.studentName = studentName;
 		this.email = email;
-		this.aCamps = EmptyID.EMPTY_ID;
-		this.cCamps = EmptyID.EMPTY_ID;
+		this.aCamps = CampIDSet.EMPTY;
+		this.cCamps = CampIDSet.EMPTY;
 		this.faculty = faculty;
-		this.pCamps = EmptyID.EMPTY_ID;
+		this.pCamps = CampIDSet.EMPTY;
 		this.points = 0;
 		this.hashedPassword = hashedPassword;
 	}
@@ -102,10 +112,10 @@ public class Student implements User {
 		this.email = EmptyID.EMPTY_ID;
 		this.studentID = EmptyID.EMPTY_ID;
 		this.studentName = EmptyID.EMPTY_ID;
-		this.aCamps = EmptyID.EMPTY_ID;
-		this.cCamps = EmptyID.EMPTY_ID;
+		this.aCamps = CampIDSet.EMPTY;
+		this.cCamps = CampIDSet.EMPTY;
 		this.faculty = Faculty.NA;
-		this.pCamps = EmptyID.EMPTY_ID;
+		this.pCamps = CampIDSet.EMPTY;
 		this.points = 0;
 	}
 
@@ -172,20 +182,97 @@ public class Student implements User {
 		this.hashedPassword = hashedPassword;
 	}
 
+	/**
+	 * Gets the camps the student attends, in their text form.
+	 *
+	 * @return the camp IDs joined with commas, or "null" if there are none
+	 */
 	public String getACamps() {
-		return aCamps;
+		return aCamps.toString();
 	}
 
+	/**
+	 * Sets the camps the student attends from their text form.
+	 *
+	 * @param aCamps the camp IDs joined with commas, or "null" if there are none
+	 */
 	public void setACamps(String aCamps) {
-		this.aCamps = aCamps;
+		this.aCamps = CampIDSet.valueOf(aCamps);
 	}
 
+	/**
+	 * Gets the camp the student is a camp committee member of, in its text form.
+	 *
+	 * @return the camp ID, or "null" if there is none
+	 */
 	public String getCCamps() {
-		return cCamps;
+		return cCamps.toString();
 	}
 
+	/**
+	 * Sets the camp the student is a camp committee member of from its text form.
+	 *
+	 * @param cCamps the camp ID, or "null" if there is none
+	 */
 	public void setCCamps(String cCamps) {
-		this.cCamps = cCamps;
+		this.cCamps = CampIDSet.valueOf(cCamps);
+	}
+
+	/**
+	 * Gets the camps the student attends.
+	 *
+	 * @return the IDs of the camps
+	 */
+	public CampIDSet getAttendedCamps() {
+		return aCamps;
+	}
+
+	/**
+	 * Gets the camp the student is a camp committee member of.
+	 *
+	 * @return the ID of the camp, as a set of at most one camp
+	 */
+	public CampIDSet getCommitteeCamps() {
+		return cCamps;
+	}
+
+	/**
+	 * Gets the camps the student has withdrawn from.
+	 *
+	 * @return the IDs of the camps
+	 */
+	public CampIDSet getWithdrawnCamps() {
+		return pCamps;
+	}
+
+	/**
+	 * Checks whether the student attends a camp.
+	 *
+	 * @param campID the ID of the camp
+	 * @return true if the student attends the camp, false otherwise
+	 */
+	public boolean isAttendeeOf(String campID) {
+		return aCamps.contains(campID);
+	}
+
+	/**
+	 * Checks whether the student is a camp committee member of a camp.
+	 *
+	 * @param campID the ID of the camp
+	 * @return true if the student is on the committee of the camp, false otherwise
+	 */
+	public boolean isCommitteeMemberOf(String campID) {
+		return cCamps.contains(campID);
+	}
+
+	/**
+	 * Checks whether the student has withdrawn from a camp.
+	 *
+	 * @param campID the ID of the camp
+	 * @return true if the student has withdrawn from the camp, false otherwise
+	 */
+	public boolean hasWithdrawnFrom(String campID) {
+		return pCamps.contains(campID);
 	}
 
 	public Faculty getFaculty() {
@@ -193,17 +280,20 @@ public class Student implements User {
 	}
 
 	public String getPCamps() {
-		return this.pCamps;
+		return this.pCamps.toString();
+	}
+
+	/**
+	 * Sets the camps the student has withdrawn from, from their text form.
+	 *
+	 * @param pCamps the camp IDs joined with commas, or "null" if there are none
+	 */
+	public void setPCamps(String pCamps) {
+		this.pCamps = CampIDSet.valueOf(pCamps);
 	}
 
 	public void addPCamp(String campID) {
-		if (!this.pCamps.contains(campID)) {
-			if (this.pCamps.equals("null")) {
-				this.pCamps = campID;
-				return;
-			}
-			this.pCamps += "," + campID;
-		}
+		this.pCamps = this.pCamps.with(campID);
 	}
 
 	public int getPoints() {
@@ -215,40 +305,17 @@ public class Student implements User {
 	}
 
 	public void addACamp(String campID) {
-		if (!this.aCamps.contains(campID)) {
-			if (this.aCamps.equals("null")) {
-				this.aCamps = campID;
-				return;
-			}
-			this.aCamps += "," + campID;
-		}
+		this.aCamps = this.aCamps.with(campID);
 	}
 
 	public void removeACamp(String campId) {
-		// Check if the campId is present in aCamps
-		int index = this.aCamps.indexOf(campId);
-
-		// If the campId is found, remove it
-		if (index != -1) {
-			// Calculate the end index for the substring to be removed
-			int endIndex = index + campId.length();
-
-			// Remove the campId from aCamps
-			this.aCamps = this.aCamps.substring(0, index) + this.aCamps.substring(endIndex);
-
-			// Remove any leading or trailing commas if they exist
-			this.aCamps = this.aCamps.replaceAll("^,|,$|,,", "");
-		}
-		if (this.aCamps.equals("")) {
-			this.aCamps = "null";
-		}
+		this.aCamps = this.aCamps.without(campId);
 	}
 
 	public void addCCamp(String campID) {
-		// Check if the campId is not already present in aCamps
+		// A student is a camp committee member of at most one camp
 		if (!this.cCamps.contains(campID)) {
-			this.cCamps = campID;
-			return;
+			this.cCamps = CampIDSet.of(campID);
 		}
 	}
 
@@ -0,0 +1,49 @@
+package main.repository;
+
+import java.util.List;
+
+/**
+ * One page of the model objects of a {@link Repository} matching a query, in the order the
+ * query asked for.
+ * <p>
+ * A page is got by its offset with
+ * {@link Repository#page(int, int, java.util.Comparator, Repository.RepositoryRule[])}, or
+ * as the page following another with
+ * {@link Repository#pageAfter(Page, int, java.util.Comparator, Repository.RepositoryRule[])},
+ * which continues after the last model object of the previous page instead of counting the
+ * model objects before it.
+ *
+ * @param items   the model objects on the page
+ * @param offset  the number of matching model objects before the page
+ * @param hasNext whether more matching model objects follow the page
+ * @param <M>     the type of model object on the page
+ */
+public record Page<M>(List<M> items, int offset, boolean hasNext) {
+
+    /**
+     * Checks whether matching model objects come before the page.
+     *
+     * @return true if the page is not the first page, false otherwise
+     */
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    /**
+     * Checks whether the page holds no model objects.
+     *
+     * @return true if the page is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * Gets the offset just past the last model object on the page.
+     *
+     * @return the offset of the next page
+     */
+    public int getEndOffset() {
+        return offset + items.size();
+    }
+}
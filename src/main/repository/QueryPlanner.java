@@ -0,0 +1,255 @@
+package main.repository;
+
+import main.repository.Repository.RepositoryRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The QueryPlanner class decides how a {@link Repository} evaluates the rules passed to
+ * {@link Repository#findByRules(RepositoryRule[])}.
+ * <p>
+ * The planner keeps statistics for every rule it has evaluated: how often the rule matched,
+ * which gives its selectivity, and how long it took, which gives its cost. A lambda rule is
+ * identified by its class, which is shared by every rule created at the same place in the
+ * code, and a {@link RepositoryRule.FieldEquals} rule by its field. A plan then:
+ * <ol>
+ *     <li>drives the query from the secondary index of the indexed
+ *     {@link RepositoryRule.FieldEquals} rule matching the fewest model objects, if any,
+ *     and</li>
+ *     <li>checks the remaining rules in increasing order of cost per rejected model object,
+ *     so that cheap rules that reject many model objects run first.</li>
+ * </ol>
+ * Rules with no statistics yet are assumed to match half of the model objects.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+class QueryPlanner<ModelObject> {
+
+    /**
+     * One in this many evaluations of a rule is timed, to keep the cost of timing low.
+     */
+    private static final int TIMING_SAMPLE_INTERVAL = 16;
+
+    /**
+     * The selectivity assumed for a rule with no statistics yet.
+     */
+    private static final double DEFAULT_SELECTIVITY = 0.5;
+
+    /**
+     * The cost in nanoseconds assumed for a rule that has not been timed yet.
+     */
+    private static final double DEFAULT_COST_NANOS = 100;
+
+    /**
+     * The statistics of every rule evaluated so far, keyed by the identity of the rule.
+     */
+    private final Map<Object, RuleStatistics> statistics = new HashMap<>();
+
+    /**
+     * Plans a query.
+     *
+     * @param rules     the rules of the query
+     * @param indexes   the secondary indexes of the repository, keyed by field name
+     * @param rowCount  the number of model objects in the repository
+     * @return the plan
+     */
+    QueryPlan<ModelObject> plan(RepositoryRule<ModelObject>[] rules, Map<String, SecondaryIndex> indexes, int rowCount) {
+        RepositoryRule<ModelObject> lead = null;
+        Set<String> leadIDs = null;
+        for (RepositoryRule<ModelObject> rule : rules) {
+            Set<String> ids = lookUp(rule, indexes);
+            if (ids != null && (leadIDs == null || ids.size() < leadIDs.size())) {
+                lead = rule;
+                leadIDs = ids;
+            }
+        }
+        List<Filter<ModelObject>> filters = new ArrayList<>(rules.length);
+        for (RepositoryRule<ModelObject> rule : rules) {
+            if (rule == lead) {
+                continue;
+            }
+            RuleStatistics ruleStatistics = statistics.computeIfAbsent(getIdentity(rule), identity -> new RuleStatistics());
+            Set<String> ids = lookUp(rule, indexes);
+            double selectivity = ids != null && rowCount > 0
+                    ? (double) ids.size() / rowCount
+                    : ruleStatistics.getSelectivity();
+            filters.add(new Filter<>(rule, ruleStatistics, selectivity, ruleStatistics.getCostNanos()));
+        }
+        filters.sort(Comparator.comparingDouble(Filter::getRank));
+        return new QueryPlan<>(lead, leadIDs, Collections.unmodifiableList(filters), rowCount);
+    }
+
+    /**
+     * Looks up the model objects matching a rule in a secondary index.
+     *
+     * @param rule    the rule
+     * @param indexes the secondary indexes of the repository, keyed by field name
+     * @return the normalised IDs of the matching model objects, or null if the rule cannot
+     * be answered from an index
+     */
+    private Set<String> lookUp(RepositoryRule<ModelObject> rule, Map<String, SecondaryIndex> indexes) {
+        if (rule instanceof RepositoryRule.FieldEquals<ModelObject> fieldEquals) {
+            SecondaryIndex secondaryIndex = indexes.get(fieldEquals.fieldName());
+            if (secondaryIndex != null) {
+                return secondaryIndex.get(fieldEquals.value());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the identity under which the statistics of a rule are kept.
+     *
+     * @param rule the rule
+     * @return the field of a {@link RepositoryRule.FieldEquals} rule, or the class of any
+     * other rule
+     */
+    private static Object getIdentity(RepositoryRule<?> rule) {
+        if (rule instanceof RepositoryRule.FieldEquals<?> fieldEquals) {
+            return "field:" + fieldEquals.fieldName();
+        }
+        return rule.getClass();
+    }
+
+    /**
+     * Describes a rule for a plan.
+     *
+     * @param rule the rule
+     * @return the field and value of a {@link RepositoryRule.FieldEquals} rule, or the class
+     * of any other rule
+     */
+    private static String describe(RepositoryRule<?> rule) {
+        if (rule instanceof RepositoryRule.FieldEquals<?> fieldEquals) {
+            return fieldEquals.fieldName() + " = " + fieldEquals.value();
+        }
+        String className = rule.getClass().getName();
+        int hiddenSuffix = className.indexOf('/');
+        return hiddenSuffix < 0 ? className : className.substring(0, hiddenSuffix);
+    }
+
+    /**
+     * The statistics of one rule.
+     */
+    static class RuleStatistics {
+
+        private long evaluations;
+        private long matches;
+        private long timedEvaluations;
+        private long timedNanos;
+
+        /**
+         * Evaluates a rule on a model object, recording the outcome.
+         *
+         * @param rule        the rule
+         * @param modelObject the model object
+         * @param <M>         the type of model object
+         * @return true if the model object matches the rule, false otherwise
+         */
+        <M> boolean evaluate(RepositoryRule<M> rule, M modelObject) {
+            boolean isMatch;
+            if (evaluations++ % TIMING_SAMPLE_INTERVAL == 0) {
+                long start = System.nanoTime();
+                isMatch = rule.isMatch(modelObject);
+                timedNanos += System.nanoTime() - start;
+                timedEvaluations++;
+            } else {
+                isMatch = rule.isMatch(modelObject);
+            }
+            if (isMatch) {
+                matches++;
+            }
+            return isMatch;
+        }
+
+        /**
+         * Gets the fraction of evaluations in which the rule matched.
+         *
+         * @return the selectivity of the rule
+         */
+        double getSelectivity() {
+            return evaluations == 0 ? DEFAULT_SELECTIVITY : (double) matches / evaluations;
+        }
+
+        /**
+         * Gets the average time of one evaluation of the rule.
+         *
+         * @return the cost of the rule, in nanoseconds
+         */
+        double getCostNanos() {
+            return timedEvaluations == 0 ? DEFAULT_COST_NANOS : (double) timedNanos / timedEvaluations;
+        }
+    }
+
+    /**
+     * A rule checked on every candidate model object, with the estimates it was ordered by.
+     *
+     * @param rule        the rule
+     * @param statistics  the statistics of the rule, updated as it is evaluated
+     * @param selectivity the estimated fraction of model objects matching the rule
+     * @param costNanos   the estimated time of one evaluation of the rule
+     * @param <M>         the type of model object
+     */
+    record Filter<M>(RepositoryRule<M> rule, RuleStatistics statistics, double selectivity, double costNanos) {
+
+        /**
+         * Gets the expected time spent per model object the rule rejects. Rules are checked
+         * in increasing order of this rank; a rule that never rejects is checked last.
+         *
+         * @return the rank of the rule
+         */
+        double getRank() {
+            return selectivity >= 1 ? Double.MAX_VALUE : costNanos / (1 - selectivity);
+        }
+
+        /**
+         * Checks whether a model object matches the rule, recording the outcome.
+         *
+         * @param modelObject the model object
+         * @return true if the model object matches the rule, false otherwise
+         */
+        boolean isMatch(M modelObject) {
+            return statistics.evaluate(rule, modelObject);
+        }
+    }
+
+    /**
+     * The way a query is evaluated.
+     *
+     * @param lead     the rule answered from a secondary index, or null to check every
+     *                 model object
+     * @param leadIDs  the normalised IDs of the model objects matching the lead rule, or
+     *                 null if there is no lead rule
+     * @param filters  the rules to check on each candidate, in the order to check them
+     * @param rowCount the number of model objects in the repository
+     * @param <M>      the type of model object
+     */
+    record QueryPlan<M>(RepositoryRule<M> lead, Set<String> leadIDs, List<Filter<M>> filters, int rowCount) {
+
+        /**
+         * Describes the plan, one step per line.
+         *
+         * @return the description of the plan
+         */
+        @Override
+        public String toString() {
+            StringBuilder stringBuilder = new StringBuilder();
+            if (lead == null) {
+                stringBuilder.append(String.format("SCAN %d rows%n", rowCount));
+            } else {
+                stringBuilder.append(String.format("INDEX LOOKUP %s (%d of %d rows)%n",
+                        describe(lead), leadIDs.size(), rowCount));
+            }
+            for (Filter<M> filter : filters) {
+                stringBuilder.append(String.format("FILTER %s (selectivity %.2f, cost %.0f ns)%n",
+                        describe(filter.rule()), filter.selectivity(), filter.costNanos()));
+            }
+            return stringBuilder.toString();
+        }
+    }
+}
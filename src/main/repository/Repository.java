@@ -10,12 +10,25 @@ package main.repository;
 
 import main.model.Model;
 import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.config.StorageConfig;
 import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.AppendOnlyLog;
+import main.utils.iocontrol.MappableCodec;
 import main.utils.iocontrol.Savable;
+import main.utils.iocontrol.TransactionJournal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The Repository abstract class provides the basic functionality for storing,
@@ -33,12 +46,57 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      */
     List<ModelObject> listOfModelObjects;
 
+    /**
+     * The primary-key index, mapping each case-normalised ID to the position of its
+     * model object in {@link #listOfModelObjects}.
+     */
+    private Map<String, Integer> idIndex;
+
+    /**
+     * The secondary indexes declared by {@link #getIndexedFields()}, keyed by field name.
+     */
+    private final Map<String, SecondaryIndex> secondaryIndexes = new LinkedHashMap<>();
+
+    /**
+     * The number of changes made to the model objects through the repository.
+     */
+    private long version;
+
+    /**
+     * The planner deciding how {@link #findByRules(RepositoryRule[])} evaluates its rules.
+     */
+    private final QueryPlanner<ModelObject> queryPlanner = new QueryPlanner<>();
+
+    /**
+     * The listeners notified of every change to the model objects.
+     */
+    private final List<RepositoryListener<ModelObject>> listeners = new CopyOnWriteArrayList<>();
+
     /**
      * Creates a new instance of the Repository class.
      */
     public Repository() {
         super();
         listOfModelObjects = new ArrayList<>();
+        idIndex = new HashMap<>();
+        for (String fieldName : getIndexedFields()) {
+            secondaryIndexes.put(fieldName, new SecondaryIndex(fieldName));
+        }
+    }
+
+    /**
+     * Gets the names of the fields of the model objects to keep secondary indexes on.
+     * A {@link RepositoryRule#fieldEquals(String, Object)} rule on one of these fields is
+     * answered from its index by {@link #findByRules(RepositoryRule[])} instead of by
+     * checking every model object. The indexes are kept up to date as model objects are
+     * added, updated and removed.
+     * <p>
+     * Called once, while the repository is being constructed.
+     *
+     * @return the names of the indexed fields, which must be fields of the model class
+     */
+    protected List<String> getIndexedFields() {
+        return List.of();
     }
 
     /**
@@ -67,12 +125,11 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      *                                exist
      */
     public ModelObject getByID(String modelObjectID) throws ModelNotFoundException {
-        for (ModelObject modelObject : listOfModelObjects) {
-            if (modelObject.getID().equalsIgnoreCase(modelObjectID)) {
-                return modelObject;
-            }
+        Integer position = idIndex.get(normaliseID(modelObjectID));
+        if (position == null) {
+            throw new ModelNotFoundException("No model object with ID " + modelObjectID + " exists.");
         }
-        throw new ModelNotFoundException("No model object with ID " + modelObjectID + " exists.");
+        return listOfModelObjects.get(position);
     }
 
     /**
@@ -83,12 +140,7 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      *         false otherwise
      */
     public boolean contains(String modelObjectID) {
-        try {
-            getByID(modelObjectID);
-            return true;
-        } catch (ModelNotFoundException e) {
-            return false;
-        }
+        return idIndex.containsKey(normaliseID(modelObjectID));
     }
 
     /**
@@ -102,8 +154,8 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
         if (contains(modelObject.getID())) {
             throw new ModelAlreadyExistsException("A model object with ID " + modelObject.getID() + " already exists.");
         } else {
-            listOfModelObjects.add(modelObject);
-            save(getFilePath());
+            applyPut(modelObject);
+            savePut(getFilePath(), modelObject.getID(), modelObject);
         }
     }
 
@@ -115,8 +167,11 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      *                                exist
      */
     public void remove(String modelObjectID) throws ModelNotFoundException {
-        listOfModelObjects.remove(getByID(modelObjectID));
-        save(getFilePath());
+        if (!contains(modelObjectID)) {
+            throw new ModelNotFoundException("No model object with ID " + modelObjectID + " exists.");
+        }
+        ModelObject removedModelObject = applyRemove(modelObjectID);
+        saveDelete(getFilePath(), removedModelObject.getID());
     }
 
     /**
@@ -137,11 +192,44 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
         return listOfModelObjects.size();
     }
 
+    /**
+     * Gets the version of the repository, which changes whenever a model object is added,
+     * updated or removed through the repository, or the repository is loaded. A cache derived
+     * from the model objects can compare versions to tell whether it is still up to date.
+     *
+     * @return the version of the repository
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Adds a listener to be notified of every later change to the model objects.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(RepositoryListener<ModelObject> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added by {@link #addListener(RepositoryListener)}.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(RepositoryListener<ModelObject> listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Removes all model objects from this repository.
      */
     public void clear() {
+        version++;
         listOfModelObjects.clear();
+        idIndex.clear();
+        clearSecondaryIndexes();
+        notifyReset();
         save(getFilePath());
     }
 
@@ -153,9 +241,96 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      *                                the repository
      */
     public void update(ModelObject modelObject) throws ModelNotFoundException {
-        ModelObject oldModelObject = getByID(modelObject.getID());
-        listOfModelObjects.set(listOfModelObjects.indexOf(oldModelObject), modelObject);
-        save(getFilePath());
+        if (!contains(modelObject.getID())) {
+            throw new ModelNotFoundException("No model object with ID " + modelObject.getID() + " exists.");
+        }
+        applyPut(modelObject);
+        savePut(getFilePath(), modelObject.getID(), modelObject);
+    }
+
+    /**
+     * Adds a model object in memory, or replaces the one with the same ID, without saving.
+     *
+     * @param modelObject the model object to put
+     */
+    void applyPut(ModelObject modelObject) {
+        version++;
+        String id = normaliseID(modelObject.getID());
+        Integer position = idIndex.get(id);
+        if (position != null) {
+            listOfModelObjects.set(position, modelObject);
+        } else {
+            idIndex.put(id, listOfModelObjects.size());
+            listOfModelObjects.add(modelObject);
+        }
+        for (SecondaryIndex secondaryIndex : secondaryIndexes.values()) {
+            secondaryIndex.put(id, modelObject);
+        }
+        for (RepositoryListener<ModelObject> listener : listeners) {
+            listener.onPut(modelObject);
+        }
+    }
+
+    /**
+     * Removes a model object in memory without saving.
+     *
+     * @param modelObjectID the ID of the model object to remove
+     * @return the removed model object, or null if there is none with the given ID
+     */
+    ModelObject applyRemove(String modelObjectID) {
+        String id = normaliseID(modelObjectID);
+        Integer position = idIndex.remove(id);
+        if (position == null) {
+            return null;
+        }
+        version++;
+        for (SecondaryIndex secondaryIndex : secondaryIndexes.values()) {
+            secondaryIndex.remove(id);
+        }
+        ModelObject removedModelObject = listOfModelObjects.remove((int) position);
+        reindexFrom(position);
+        for (RepositoryListener<ModelObject> listener : listeners) {
+            listener.onRemove(removedModelObject);
+        }
+        return removedModelObject;
+    }
+
+    /**
+     * Notifies the listeners that every model object may have changed at once.
+     */
+    private void notifyReset() {
+        for (RepositoryListener<ModelObject> listener : listeners) {
+            listener.onReset();
+        }
+    }
+
+    /**
+     * Creates the journal entry that adds or updates a model object as part of a
+     * {@link Transaction}.
+     *
+     * @param modelObject the model object to put
+     * @return the journal entry
+     */
+    TransactionJournal.Entry journalPut(ModelObject modelObject) {
+        return journalPut(getFilePath(), modelObject.getID(), modelObject);
+    }
+
+    /**
+     * Creates the journal entry that removes a model object as part of a {@link Transaction}.
+     *
+     * @param modelObjectID the ID of the model object to remove
+     * @return the journal entry
+     */
+    TransactionJournal.Entry journalDelete(String modelObjectID) {
+        return journalDelete(getFilePath(), modelObjectID);
+    }
+
+    /**
+     * Saves the list of model objects to the repository file as part of committing a
+     * {@link Transaction}.
+     */
+    void saveCommitted() {
+        saveCommitted(getFilePath());
     }
 
     /**
@@ -165,16 +340,39 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @param modelObjects the list of model objects to update
      */
     public void updateAll(List<ModelObject> modelObjects) {
+        version++;
         listOfModelObjects = modelObjects;
+        rebuildIndex();
+        notifyReset();
         save(getFilePath());
     }
 
     /**
-     * Loads the list of model objects from the repository file.
+     * Loads the list of model objects from the repository file, then replays the changes
+     * recorded in its log since it was last saved in full.
      */
     public void load() {
+        version++;
         this.listOfModelObjects = new ArrayList<>();
         load(getFilePath());
+        rebuildIndex();
+        for (AppendOnlyLog.Record record : loadLog(getFilePath())) {
+            replay(record);
+        }
+        notifyReset();
+    }
+
+    /**
+     * Applies one logged change to the list of model objects.
+     *
+     * @param record the logged change
+     */
+    private void replay(AppendOnlyLog.Record record) {
+        if (record.operation() == AppendOnlyLog.Operation.DELETE) {
+            applyRemove(record.key());
+        } else {
+            applyPut(decode(record.fields()));
+        }
     }
 
     /**
@@ -184,6 +382,91 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
         save(getFilePath());
     }
 
+    /**
+     * Opens the repository by loading the list of model objects from the repository file.
+     * Called once by the {@link RepositoryRegistry} when the repository is first requested.
+     */
+    public void open() {
+        load();
+    }
+
+    /**
+     * Flushes the list of model objects to disk. This is a barrier: when it returns, every
+     * change made before the call is on disk, in the log in append-only log mode.
+     */
+    public void flush() {
+        if (StorageConfig.APPEND_ONLY_LOG) {
+            flushLog(getFilePath());
+        } else {
+            save();
+        }
+    }
+
+    /**
+     * Closes the repository, saving it to the repository file and releasing the
+     * model objects held in memory. In append-only log mode the file is only rewritten
+     * if the log holds changes that are not yet part of it.
+     */
+    public void close() {
+        if (StorageConfig.APPEND_ONLY_LOG) {
+            checkpoint(getFilePath());
+        } else {
+            save();
+        }
+        this.listOfModelObjects = new ArrayList<>();
+        idIndex.clear();
+        clearSecondaryIndexes();
+        notifyReset();
+    }
+
+    /**
+     * Normalises a model object ID for use as a key of the primary-key index, so that
+     * lookups stay case-insensitive.
+     *
+     * @param modelObjectID the ID to normalise
+     * @return the normalised ID
+     */
+    private static String normaliseID(String modelObjectID) {
+        return modelObjectID == null ? null : modelObjectID.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Rebuilds the primary-key index and the secondary indexes from the list of model objects.
+     */
+    private void rebuildIndex() {
+        idIndex = new HashMap<>(listOfModelObjects.size() * 2);
+        for (int i = 0; i < listOfModelObjects.size(); i++) {
+            idIndex.putIfAbsent(normaliseID(listOfModelObjects.get(i).getID()), i);
+        }
+        clearSecondaryIndexes();
+        for (Map.Entry<String, Integer> entry : idIndex.entrySet()) {
+            for (SecondaryIndex secondaryIndex : secondaryIndexes.values()) {
+                secondaryIndex.put(entry.getKey(), listOfModelObjects.get(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Removes every model object from the secondary indexes.
+     */
+    private void clearSecondaryIndexes() {
+        for (SecondaryIndex secondaryIndex : secondaryIndexes.values()) {
+            secondaryIndex.clear();
+        }
+    }
+
+    /**
+     * Refreshes the positions in the primary-key index of every model object at or after
+     * the given position, after the list has shifted.
+     *
+     * @param fromPosition the first position to refresh
+     */
+    private void reindexFrom(int fromPosition) {
+        for (int i = fromPosition; i < listOfModelObjects.size(); i++) {
+            idIndex.put(normaliseID(listOfModelObjects.get(i).getID()), i);
+        }
+    }
+
     /**
      * Returns an iterator over the list of model objects of type {@code T}.
      *
@@ -213,26 +496,214 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * <p>
      * This will return a list of all students whose first name is "John" and whose
      * last name is "Smith".
+     * <p>
+     * The rules are not necessarily checked in the order given: the {@link QueryPlanner} of
+     * the repository answers a {@link RepositoryRule#fieldEquals(String, Object)} rule on an
+     * indexed field from its index, so that only the model objects the index holds for the
+     * value are checked, and checks the other rules cheapest and most selective first. Use
+     * {@link #explain(RepositoryRule[])} to see the plan chosen for a query.
      *
      * @param rules the rules to match
      * @return a list of all model objects in the repository that match the
-     *         specified rules
+     *         specified rules, in repository order
      */
     @SafeVarargs
+    @SuppressWarnings("varargs") // the query planner only reads the rules array, never keeps or writes it
     public final List<ModelObject> findByRules(RepositoryRule<ModelObject>... rules) {
+        QueryPlanner.QueryPlan<ModelObject> plan = queryPlanner.plan(rules, secondaryIndexes, listOfModelObjects.size());
         List<ModelObject> modelObjects = new ArrayList<>();
-        for (ModelObject modelObject : listOfModelObjects) {
-            boolean isMatch = true;
-            for (RepositoryRule<ModelObject> rule : rules) {
-                if (!rule.isMatch(modelObject)) {
-                    isMatch = false;
-                    break;
+        for (ModelObject modelObject : getCandidates(plan)) {
+            if (isMatch(plan, modelObject)) {
+                modelObjects.add(modelObject);
+            }
+        }
+        return modelObjects;
+    }
+
+    /**
+     * Gets one page of the model objects matching the given rules.
+     * <p>
+     * Without a comparator the model objects are in repository order, and the repository is
+     * only read up to the end of the page. With a comparator only the model objects up to
+     * the end of the page are kept while the matching model objects are read, so the cost
+     * grows with the offset of the page; use
+     * {@link #pageAfter(Page, int, Comparator, RepositoryRule[])} to go through the pages
+     * one after another instead. Model objects the comparator finds equal are ordered by ID.
+     *
+     * @param offset     the number of matching model objects to skip
+     * @param limit      the largest number of model objects on the page
+     * @param comparator the order of the model objects, or null for repository order
+     * @param rules      the rules to match
+     * @return the page
+     * @throws IllegalArgumentException if the offset is negative or the limit is not positive
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // collectPage only reads the rules array, never keeps or writes it
+    public final Page<ModelObject> page(int offset, int limit, Comparator<? super ModelObject> comparator,
+                                        RepositoryRule<ModelObject>... rules) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Page offset must not be negative and limit must be positive");
+        }
+        return collectPage(offset, offset, limit, null, comparator, rules);
+    }
+
+    /**
+     * Gets the page following another page of the model objects matching the given rules,
+     * continuing after the last model object of that page rather than counting the model
+     * objects before it, so every page costs the same however far through the model objects
+     * it is. Without a comparator the repository is read from just after that model object
+     * to the end of the page.
+     *
+     * @param previous   the previous page, got with the same comparator and rules
+     * @param limit      the largest number of model objects on the page
+     * @param comparator the order of the model objects, or null for repository order
+     * @param rules      the rules to match
+     * @return the next page, which is empty if the previous page was the last
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // collectPage only reads the rules array, never keeps or writes it
+    public final Page<ModelObject> pageAfter(Page<ModelObject> previous, int limit,
+                                             Comparator<? super ModelObject> comparator,
+                                             RepositoryRule<ModelObject>... rules) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        if (previous.isEmpty()) {
+            return new Page<>(List.of(), previous.offset(), false);
+        }
+        ModelObject after = previous.items().get(previous.items().size() - 1);
+        if (comparator == null && !idIndex.containsKey(normaliseID(after.getID()))) {
+            return collectPage(previous.getEndOffset(), previous.getEndOffset(), limit, null, null, rules);
+        }
+        return collectPage(previous.getEndOffset(), 0, limit, after, comparator, rules);
+    }
+
+    /**
+     * Collects one page of the model objects matching the given rules.
+     *
+     * @param offset     the offset of the page
+     * @param skip       the number of matching model objects to skip before the page
+     * @param limit      the largest number of model objects on the page
+     * @param after      the model object the page follows, or null to start from the first
+     * @param comparator the order of the model objects, or null for repository order
+     * @param rules      the rules to match
+     * @return the page
+     */
+    private Page<ModelObject> collectPage(int offset, int skip, int limit, ModelObject after,
+                                          Comparator<? super ModelObject> comparator,
+                                          RepositoryRule<ModelObject>[] rules) {
+        QueryPlanner.QueryPlan<ModelObject> plan = queryPlanner.plan(rules, secondaryIndexes, listOfModelObjects.size());
+        List<ModelObject> candidates = getCandidates(plan);
+        List<ModelObject> items = new ArrayList<>(Math.min(limit, candidates.size()));
+        if (comparator == null) {
+            int start = 0;
+            if (after != null) {
+                int afterPosition = idIndex.get(normaliseID(after.getID()));
+                if (candidates == listOfModelObjects) {
+                    start = afterPosition + 1;
+                } else {
+                    while (start < candidates.size()
+                            && idIndex.get(normaliseID(candidates.get(start).getID())) <= afterPosition) {
+                        start++;
+                    }
                 }
             }
-            if (isMatch) {
-                modelObjects.add(modelObject);
+            for (int i = start; i < candidates.size(); i++) {
+                ModelObject modelObject = candidates.get(i);
+                if (!isMatch(plan, modelObject)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else if (items.size() == limit) {
+                    return new Page<>(items, offset, true);
+                } else {
+                    items.add(modelObject);
+                }
+            }
+            return new Page<>(items, offset, false);
+        }
+
+        Comparator<ModelObject> byComparator = comparator::compare;
+        Comparator<ModelObject> order = byComparator.thenComparing(modelObject -> normaliseID(modelObject.getID()));
+        int kept = skip + limit + 1;
+        PriorityQueue<ModelObject> best = new PriorityQueue<>(Math.min(kept, candidates.size() + 1), order.reversed());
+        for (ModelObject modelObject : candidates) {
+            if ((after != null && order.compare(modelObject, after) <= 0)
+                    || (best.size() == kept && order.compare(modelObject, best.peek()) >= 0)
+                    || !isMatch(plan, modelObject)) {
+                continue;
+            }
+            best.add(modelObject);
+            if (best.size() > kept) {
+                best.poll();
             }
         }
+        List<ModelObject> sorted = new ArrayList<>(best);
+        sorted.sort(order);
+        items.addAll(sorted.subList(Math.min(skip, sorted.size()), Math.min(skip + limit, sorted.size())));
+        return new Page<>(items, offset, sorted.size() > skip + limit);
+    }
+
+    /**
+     * Gets the model objects a query plan checks: those its lead index holds, or every
+     * model object if it has none.
+     *
+     * @param plan the query plan
+     * @return the model objects to check, in repository order
+     */
+    private List<ModelObject> getCandidates(QueryPlanner.QueryPlan<ModelObject> plan) {
+        return plan.leadIDs() == null ? listOfModelObjects : getByNormalisedIDs(plan.leadIDs());
+    }
+
+    /**
+     * Checks a model object against the filters of a query plan.
+     *
+     * @param plan        the query plan
+     * @param modelObject the model object to check
+     * @return true if the model object passes every filter, false otherwise
+     */
+    private boolean isMatch(QueryPlanner.QueryPlan<ModelObject> plan, ModelObject modelObject) {
+        for (QueryPlanner.Filter<ModelObject> filter : plan.filters()) {
+            if (!filter.isMatch(modelObject)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Describes how {@link #findByRules(RepositoryRule[])} would evaluate the given rules:
+     * whether it scans every model object or looks up an index, and in which order it checks
+     * the rules, with the estimated selectivity and cost of each.
+     *
+     * @param rules the rules to match
+     * @return the description of the plan, one step per line
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // the query planner only reads the rules array, never keeps or writes it
+    public final String explain(RepositoryRule<ModelObject>... rules) {
+        return queryPlanner.plan(rules, secondaryIndexes, listOfModelObjects.size()).toString();
+    }
+
+    /**
+     * Gets the model objects with the given IDs, in repository order.
+     *
+     * @param ids the normalised IDs of the model objects
+     * @return the model objects with the given IDs
+     */
+    private List<ModelObject> getByNormalisedIDs(Set<String> ids) {
+        int[] positions = new int[ids.size()];
+        int count = 0;
+        for (String id : ids) {
+            positions[count++] = idIndex.get(id);
+        }
+        Arrays.sort(positions);
+        List<ModelObject> modelObjects = new ArrayList<>(count);
+        for (int position : positions) {
+            modelObjects.add(listOfModelObjects.get(position));
+        }
         return modelObjects;
     }
 
@@ -242,7 +713,7 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @return a list of all model objects in the repository
      */
     public List<ModelObject> getList() {
-        return findByRules();
+        return new ArrayList<>(listOfModelObjects);
     }
 
     /**
@@ -258,5 +729,40 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
          * @return true if the model object matches the rule, false otherwise
          */
         boolean isMatch(ModelObject modelObject);
+
+        /**
+         * Creates a rule that matches the model objects whose field has the given value.
+         * Values are compared as they appear in the key-value representation of the model
+         * objects, so an enum value matches by the name of its constant. Unlike other rules,
+         * this rule can be answered from a secondary index of the repository.
+         * <p>
+         * For example, the camps of a staff member can be found with:
+         *
+         * <pre>
+         * CampRepository.getInstance().findByRules(RepositoryRule.fieldEquals("staffID", staff.getID()));
+         * </pre>
+         *
+         * @param fieldName     the name of the field
+         * @param value         the value to match
+         * @param <ModelObject> the type of model object stored in the repository
+         * @return the rule
+         */
+        static <ModelObject> RepositoryRule<ModelObject> fieldEquals(String fieldName, Object value) {
+            return new FieldEquals<>(fieldName, value instanceof Enum<?> constant ? constant.name() : String.valueOf(value));
+        }
+
+        /**
+         * A rule that matches the model objects whose field has the given value.
+         *
+         * @param fieldName     the name of the field
+         * @param value         the value to match, as it appears in the key-value representation
+         * @param <ModelObject> the type of model object stored in the repository
+         */
+        record FieldEquals<ModelObject>(String fieldName, String value) implements RepositoryRule<ModelObject> {
+            @Override
+            public boolean isMatch(ModelObject modelObject) {
+                return value.equals(MappableCodec.of(modelObject.getClass()).getField(fieldName, modelObject));
+            }
+        }
     }
 }
@@ -0,0 +1,92 @@
+/**
+ * The RepositoryBootstrap class loads every repository in the background when the
+ * application starts, so that the first page does not wait for data it does not use.
+ */
+package main.repository;
+
+import main.repository.camp.CampRepository;
+import main.repository.camp.WaitlistRepository;
+import main.repository.request.EnquiryRepository;
+import main.repository.request.SuggestionRepository;
+import main.repository.user.StaffRepository;
+import main.repository.user.StudentRepository;
+import main.utils.iocontrol.TransactionJournal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The RepositoryBootstrap class starts loading the user, camp, waitlist, enquiry and
+ * suggestion repositories concurrently at launch.
+ * <p>
+ * The {@link TransactionJournal} is recovered first, since every repository depends on it.
+ * Every repository then loads in parallel, each on its own thread, and none waits for
+ * another. A page that requests a repository which is still loading waits only for that
+ * load, through the {@link RepositoryRegistry}, rather than loading it a second time; the
+ * login page, for example, waits for the user repositories alone.
+ */
+public class RepositoryBootstrap {
+
+    /**
+     * The load of every repository, or null if the bootstrap has not been started.
+     */
+    private static CompletableFuture<List<RepositoryRegistry.LoadReport>> loading = null;
+
+    private RepositoryBootstrap() {
+    }
+
+    /**
+     * Starts loading every repository in the background. Calling this again after the
+     * bootstrap has started has no effect.
+     *
+     * @return a future completed with the statistics of every load, in the order the
+     * loads completed
+     */
+    public static synchronized CompletableFuture<List<RepositoryRegistry.LoadReport>> start() {
+        if (loading != null) {
+            return loading;
+        }
+        List<Runnable> loads = List.of(
+                StudentRepository::getInstance,
+                StaffRepository::getInstance,
+                CampRepository::getInstance,
+                EnquiryRepository::getInstance,
+                SuggestionRepository::getInstance,
+                WaitlistRepository::getInstance
+        );
+        ExecutorService executor = Executors.newFixedThreadPool(loads.size(), runnable -> {
+            Thread thread = new Thread(runnable, "repository-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Void> recovery = CompletableFuture.runAsync(TransactionJournal::recover, executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Runnable load : loads) {
+            futures.add(recovery.thenRunAsync(load, executor));
+        }
+        loading = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> RepositoryRegistry.getLoadReports())
+                .whenComplete((reports, e) -> executor.shutdown());
+        return loading;
+    }
+
+    /**
+     * Formats the statistics of the repository loads, one line per repository.
+     *
+     * @param reports the statistics of the loads
+     * @return the formatted statistics
+     */
+    public static String formatLoadReports(List<RepositoryRegistry.LoadReport> reports) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (RepositoryRegistry.LoadReport report : reports) {
+            stringBuilder.append(String.format("%-22s %8.1f ms %8d records%n",
+                    report.repositoryClass().getSimpleName(),
+                    report.loadNanos() / 1_000_000.0,
+                    report.recordCount()));
+        }
+        return stringBuilder.toString();
+    }
+}
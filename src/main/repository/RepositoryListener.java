@@ -0,0 +1,36 @@
+package main.repository;
+
+import main.model.Model;
+
+/**
+ * The RepositoryListener interface is notified of the changes made to the model objects of a
+ * {@link Repository}, so that a view derived from them can be kept up to date one model
+ * object at a time instead of being rebuilt.
+ * <p>
+ * A listener is called on the thread making the change, after the change has been applied
+ * in memory, and must not change the repository itself.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+public interface RepositoryListener<ModelObject extends Model> {
+    /**
+     * Called when a model object has been added, or has replaced the model object with the
+     * same ID.
+     *
+     * @param modelObject the model object put in the repository
+     */
+    void onPut(ModelObject modelObject);
+
+    /**
+     * Called when a model object has been removed.
+     *
+     * @param modelObject the removed model object
+     */
+    void onRemove(ModelObject modelObject);
+
+    /**
+     * Called when every model object may have changed at once, because the repository has
+     * been cleared, reloaded or replaced as a whole.
+     */
+    void onReset();
+}
@@ -0,0 +1,208 @@
+/**
+ * The RepositoryRegistry class keeps one shared instance of every repository
+ * for the lifetime of the process, so that each data file is parsed once
+ * rather than on every lookup.
+ */
+package main.repository;
+
+import main.utils.iocontrol.TransactionJournal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * The RepositoryRegistry class is the process-wide owner of all repository instances.
+ * <p>
+ * A repository is created and loaded from its file the first time it is requested,
+ * and the same instance is returned on every later request. The registry offers
+ * explicit lifecycle hooks: {@link #open(Class, Supplier)} to load a repository,
+ * {@link #flush()} to persist every open repository, and {@link #close()} to persist
+ * and release them. Closing is also performed automatically when the JVM shuts down.
+ * <p>
+ * Repositories may be opened from several threads at once. Each repository is loaded
+ * by the first thread that requests it, and other threads requesting the same
+ * repository wait for that load instead of starting their own, while repositories of
+ * other classes keep loading independently.
+ */
+public class RepositoryRegistry {
+
+    /**
+     * The load of each requested repository, keyed by its class, in the order they were
+     * requested.
+     */
+    private static final Map<Class<?>, CompletableFuture<Repository<?>>> REPOSITORIES = new LinkedHashMap<>();
+
+    /**
+     * The statistics of each completed load, keyed by the class of the repository, in the
+     * order the loads completed.
+     */
+    private static final Map<Class<?>, LoadReport> LOAD_REPORTS = new LinkedHashMap<>();
+
+    /**
+     * Whether the shutdown hook that closes the registry has been installed.
+     */
+    private static boolean shutdownHookInstalled = false;
+
+    private RepositoryRegistry() {
+    }
+
+    /**
+     * Gets the shared instance of a repository, opening it if it has not been opened yet.
+     * Before the first repository is opened, the {@link TransactionJournal} is recovered.
+     * If another thread is opening the repository, this waits for it to finish.
+     *
+     * @param repositoryClass the class of the repository
+     * @param constructor     creates a new, unloaded repository of the given class
+     * @param <R>             the type of the repository
+     * @return the shared instance of the repository
+     * @throws RuntimeException if the repository could not be loaded
+     */
+    public static <R extends Repository<?>> R open(Class<R> repositoryClass, Supplier<R> constructor) {
+        CompletableFuture<Repository<?>> future;
+        boolean loadHere = false;
+        synchronized (RepositoryRegistry.class) {
+            future = REPOSITORIES.get(repositoryClass);
+            if (future == null) {
+                installShutdownHook();
+                future = new CompletableFuture<>();
+                REPOSITORIES.put(repositoryClass, future);
+                loadHere = true;
+            }
+        }
+        if (loadHere) {
+            load(repositoryClass, constructor, future);
+        }
+        try {
+            return repositoryClass.cast(future.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Loads a repository and completes its future. A failed load is forgotten, so that
+     * the next request tries again.
+     *
+     * @param repositoryClass the class of the repository
+     * @param constructor     creates a new, unloaded repository of the given class
+     * @param future          the future to complete with the loaded repository
+     */
+    private static <R extends Repository<?>> void load(Class<R> repositoryClass, Supplier<R> constructor,
+                                                       CompletableFuture<Repository<?>> future) {
+        try {
+            long start = System.nanoTime();
+            TransactionJournal.recover();
+            R repository = constructor.get();
+            repository.open();
+            LoadReport report = new LoadReport(repositoryClass, System.nanoTime() - start, repository.size());
+            synchronized (RepositoryRegistry.class) {
+                LOAD_REPORTS.put(repositoryClass, report);
+            }
+            future.complete(repository);
+        } catch (RuntimeException | Error e) {
+            synchronized (RepositoryRegistry.class) {
+                REPOSITORIES.remove(repositoryClass, future);
+            }
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Checks whether a repository of the given class is currently open. A repository
+     * that is still loading is not open yet.
+     *
+     * @param repositoryClass the class of the repository
+     * @return true if the repository is open, false otherwise
+     */
+    public static synchronized boolean isOpen(Class<? extends Repository<?>> repositoryClass) {
+        CompletableFuture<Repository<?>> future = REPOSITORIES.get(repositoryClass);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * Gets the statistics of every repository load completed since the registry was last
+     * closed, in the order the loads completed.
+     *
+     * @return the load statistics
+     */
+    public static synchronized List<LoadReport> getLoadReports() {
+        return new ArrayList<>(LOAD_REPORTS.values());
+    }
+
+    /**
+     * Forces every change made to an open repository to disk. When this returns, a
+     * crash no longer loses any change made before the call. Repositories that are
+     * still loading have no changes yet and are skipped.
+     */
+    public static synchronized void flush() {
+        for (Repository<?> repository : openRepositories()) {
+            repository.flush();
+        }
+        TransactionJournal.checkpoint();
+    }
+
+    /**
+     * Persists and releases every open repository, first waiting for any repository that
+     * is still loading. A repository requested after this call is loaded again from its file.
+     */
+    public static void close() {
+        List<CompletableFuture<Repository<?>>> futures;
+        synchronized (RepositoryRegistry.class) {
+            futures = new ArrayList<>(REPOSITORIES.values());
+        }
+        for (CompletableFuture<Repository<?>> future : futures) {
+            future.exceptionally(e -> null).join();
+        }
+        synchronized (RepositoryRegistry.class) {
+            flush();
+            List<Repository<?>> repositories = openRepositories();
+            REPOSITORIES.clear();
+            LOAD_REPORTS.clear();
+            for (Repository<?> repository : repositories) {
+                repository.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the repositories whose load has completed successfully.
+     *
+     * @return the open repositories, in the order they were requested
+     */
+    private static List<Repository<?>> openRepositories() {
+        List<Repository<?>> repositories = new ArrayList<>();
+        for (CompletableFuture<Repository<?>> future : REPOSITORIES.values()) {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                repositories.add(future.join());
+            }
+        }
+        return repositories;
+    }
+
+    /**
+     * Installs a shutdown hook that closes the registry when the JVM exits, so that
+     * pages calling {@code System.exit} still release the repositories cleanly.
+     */
+    private static void installShutdownHook() {
+        if (!shutdownHookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(RepositoryRegistry::close));
+            shutdownHookInstalled = true;
+        }
+    }
+
+    /**
+     * The statistics of loading one repository.
+     *
+     * @param repositoryClass the class of the repository
+     * @param loadNanos       the time taken to load the repository, in nanoseconds, including
+     *                        any wait for the transaction journal to be recovered
+     * @param recordCount     the number of records loaded
+     */
+    public record LoadReport(Class<?> repositoryClass, long loadNanos, int recordCount) {
+    }
+}
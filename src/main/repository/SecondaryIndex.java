@@ -0,0 +1,114 @@
+package main.repository;
+
+import main.model.Model;
+import main.utils.iocontrol.MappableCodec;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The SecondaryIndex class maps the values of one field of the model objects in a
+ * {@link Repository} to the IDs of the model objects holding them.
+ * <p>
+ * Values are compared as they appear in the key-value representation of the model
+ * objects, so an enum field is indexed by the name of its constant. The index remembers
+ * the value it indexed for each ID, because a model object is often changed in place
+ * before being updated in the repository.
+ */
+class SecondaryIndex {
+
+    /**
+     * The name of the indexed field.
+     */
+    private final String fieldName;
+
+    /**
+     * The IDs of the model objects holding each value.
+     */
+    private final Map<String, Set<String>> idsByValue = new HashMap<>();
+
+    /**
+     * The value indexed for each ID.
+     */
+    private final Map<String, String> valueByID = new HashMap<>();
+
+    /**
+     * Creates an empty index on a field.
+     *
+     * @param fieldName the name of the indexed field
+     */
+    SecondaryIndex(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Gets the name of the indexed field.
+     *
+     * @return the name of the indexed field
+     */
+    String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Indexes a model object, replacing what was indexed for its ID.
+     *
+     * @param id          the normalised ID of the model object
+     * @param modelObject the model object
+     */
+    void put(String id, Model modelObject) {
+        String value = MappableCodec.of(modelObject.getClass()).getField(fieldName, modelObject);
+        String oldValue = valueByID.put(id, value);
+        if (value.equals(oldValue)) {
+            return;
+        }
+        if (oldValue != null) {
+            removeFromValue(oldValue, id);
+        }
+        idsByValue.computeIfAbsent(value, v -> new LinkedHashSet<>()).add(id);
+    }
+
+    /**
+     * Removes the model object with the given ID from the index.
+     *
+     * @param id the normalised ID of the model object
+     */
+    void remove(String id) {
+        String oldValue = valueByID.remove(id);
+        if (oldValue != null) {
+            removeFromValue(oldValue, id);
+        }
+    }
+
+    /**
+     * Gets the IDs of the model objects holding a value.
+     *
+     * @param value the value, as it appears in the key-value representation
+     * @return the normalised IDs of the model objects holding the value
+     */
+    Set<String> get(String value) {
+        Set<String> ids = idsByValue.get(value);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Removes every model object from the index.
+     */
+    void clear() {
+        idsByValue.clear();
+        valueByID.clear();
+    }
+
+    private void removeFromValue(String value, String id) {
+        Set<String> ids = idsByValue.get(value);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByValue.remove(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * The Transaction class groups changes to several repositories so that they are
+ * saved atomically.
+ */
+package main.repository;
+
+import main.model.Model;
+import main.utils.config.StorageConfig;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.TransactionJournal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The Transaction class groups changes to one or more repositories so that either all of
+ * them are saved or none are.
+ * <p>
+ * Changes are staged with {@link #add(Repository, Model)}, {@link #update(Repository, Model)}
+ * and {@link #remove(Repository, String)}, and nothing is changed until {@link #commit()},
+ * which writes all of them to the {@link TransactionJournal} with a single forced write
+ * before applying them. Here is an example of how to use this class:
+ *
+ * <pre>
+ * Transaction transaction = new Transaction();
+ * transaction.update(CampRepository.getInstance(), camp);
+ * transaction.update(StudentRepository.getInstance(), student);
+ * transaction.commit();
+ * </pre>
+ */
+public class Transaction {
+
+    /**
+     * A change staged in a transaction.
+     *
+     * @param repository the repository the change belongs to
+     * @param entry      the journal entry of the change
+     * @param apply      applies the change to the repository in memory
+     */
+    private record StagedChange(Repository<?> repository, TransactionJournal.Entry entry, Runnable apply) {
+    }
+
+    /**
+     * The changes staged so far, in order.
+     */
+    private final List<StagedChange> stagedChanges = new ArrayList<>();
+
+    /**
+     * Whether the transaction has been committed.
+     */
+    private boolean committed = false;
+
+    /**
+     * Stages adding a model object to a repository.
+     *
+     * @param repository    the repository to add to
+     * @param modelObject   the model object to add
+     * @param <ModelObject> the type of model object stored in the repository
+     * @throws ModelAlreadyExistsException if a model object with the same ID already
+     *                                     exists in the repository
+     */
+    public <ModelObject extends Model> void add(Repository<ModelObject> repository, ModelObject modelObject)
+            throws ModelAlreadyExistsException {
+        if (repository.contains(modelObject.getID())) {
+            throw new ModelAlreadyExistsException("A model object with ID " + modelObject.getID() + " already exists.");
+        }
+        stage(repository, repository.journalPut(modelObject), () -> repository.applyPut(modelObject));
+    }
+
+    /**
+     * Stages updating a model object in a repository.
+     *
+     * @param repository    the repository to update
+     * @param modelObject   the model object to update
+     * @param <ModelObject> the type of model object stored in the repository
+     * @throws ModelNotFoundException if the model object is not found in the repository
+     */
+    public <ModelObject extends Model> void update(Repository<ModelObject> repository, ModelObject modelObject)
+            throws ModelNotFoundException {
+        if (!repository.contains(modelObject.getID())) {
+            throw new ModelNotFoundException("No model object with ID " + modelObject.getID() + " exists.");
+        }
+        stage(repository, repository.journalPut(modelObject), () -> repository.applyPut(modelObject));
+    }
+
+    /**
+     * Stages removing a model object from a repository.
+     *
+     * @param repository    the repository to remove from
+     * @param modelObjectID the ID of the model object to remove
+     * @param <ModelObject> the type of model object stored in the repository
+     * @throws ModelNotFoundException if the model object is not found in the repository
+     */
+    public <ModelObject extends Model> void remove(Repository<ModelObject> repository, String modelObjectID)
+            throws ModelNotFoundException {
+        String storedID = repository.getByID(modelObjectID).getID();
+        stage(repository, repository.journalDelete(storedID), () -> repository.applyRemove(storedID));
+    }
+
+    /**
+     * Stages a change, refusing it if the transaction has already been committed.
+     *
+     * @param repository the repository the change belongs to
+     * @param entry      the journal entry of the change
+     * @param apply      applies the change to the repository in memory
+     */
+    private void stage(Repository<?> repository, TransactionJournal.Entry entry, Runnable apply) {
+        if (committed) {
+            throw new IllegalStateException("Transaction has already been committed");
+        }
+        stagedChanges.add(new StagedChange(repository, entry, apply));
+    }
+
+    /**
+     * Commits the transaction, saving every staged change atomically.
+     *
+     * @throws IllegalStateException if the transaction has already been committed
+     * @throws RuntimeException      if the transaction could not be saved
+     */
+    public void commit() {
+        if (committed) {
+            throw new IllegalStateException("Transaction has already been committed");
+        }
+        committed = true;
+        List<TransactionJournal.Entry> entries = new ArrayList<>(stagedChanges.size());
+        for (StagedChange stagedChange : stagedChanges) {
+            entries.add(stagedChange.entry());
+        }
+        TransactionJournal.commit(entries, () -> {
+            Set<Repository<?>> repositories = new LinkedHashSet<>();
+            for (StagedChange stagedChange : stagedChanges) {
+                stagedChange.apply().run();
+                repositories.add(stagedChange.repository());
+            }
+            if (!StorageConfig.APPEND_ONLY_LOG) {
+                for (Repository<?> repository : repositories) {
+                    repository.saveCommitted();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,278 @@
+package main.repository.camp;
+
+import main.model.camp.Camp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The CampIntervalTree class answers date-range queries over the camps of a repository and is
+ * kept up to date one camp at a time.
+ * <p>
+ * The camps with valid dates are kept in a treap, a binary search tree ordered by first day,
+ * then by last day, then by camp ID, and balanced by random priorities. Each node also holds
+ * the latest last day in its subtree, so that a search for camps overlapping a range of days
+ * skips every subtree ending before it. Both queries take O(log n + k) expected time for k
+ * results, and adding or removing a camp takes O(log n) expected time. A camp whose dates have
+ * not changed keeps its node; only the camp it refers to is replaced.
+ */
+class CampIntervalTree {
+
+    /**
+     * The node of each indexed camp, keyed by upper-cased camp ID.
+     */
+    private final Map<String, Node> nodes = new HashMap<>();
+
+    /**
+     * The source of the node priorities.
+     */
+    private final SplittableRandom random = new SplittableRandom();
+
+    /**
+     * The root of the treap, or null if it is empty.
+     */
+    private Node root = null;
+
+    /**
+     * Builds the tree over a list of camps. Camps whose dates cannot be parsed are left out.
+     *
+     * @param camps the camps
+     */
+    CampIntervalTree(List<Camp> camps) {
+        for (Camp camp : camps) {
+            put(camp);
+        }
+    }
+
+    /**
+     * Indexes a camp that has been added or updated, replacing the camp with the same ID.
+     *
+     * @param camp the camp
+     */
+    void put(Camp camp) {
+        String key = keyOf(camp.getID());
+        Node node = nodes.get(key);
+        if (node != null && camp.hasValidDates()
+                && node.startEpochDay == camp.getStartEpochDay() && node.endEpochDay == camp.getEndEpochDay()) {
+            node.camp = camp;
+            return;
+        }
+        if (node != null) {
+            remove(camp.getID());
+        }
+        if (camp.hasValidDates()) {
+            node = new Node(camp, key, random.nextInt());
+            nodes.put(key, node);
+            root = insert(root, node);
+        }
+    }
+
+    /**
+     * Takes a camp out of the tree.
+     *
+     * @param campID the ID of the camp
+     */
+    void remove(String campID) {
+        Node node = nodes.remove(keyOf(campID));
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Finds the camps taking place on any day of a range of days.
+     *
+     * @param fromEpochDay the first day of the range
+     * @param toEpochDay   the last day of the range
+     * @return the overlapping camps, in order of first day
+     */
+    List<Camp> findOverlapping(long fromEpochDay, long toEpochDay) {
+        List<Camp> result = new ArrayList<>();
+        collectOverlapping(root, fromEpochDay, toEpochDay, result);
+        return result;
+    }
+
+    /**
+     * Finds the camps whose first day is in a range of days.
+     *
+     * @param fromEpochDay the first day of the range
+     * @param toEpochDay   the last day of the range
+     * @return the camps starting in the range, in order of first day
+     */
+    List<Camp> findStartingBetween(long fromEpochDay, long toEpochDay) {
+        List<Camp> result = new ArrayList<>();
+        collectStartingBetween(root, fromEpochDay, toEpochDay, result);
+        return result;
+    }
+
+    private static Node insert(Node subtree, Node node) {
+        if (subtree == null) {
+            return node;
+        }
+        if (node.priority > subtree.priority) {
+            Node[] parts = split(subtree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            return update(node);
+        }
+        if (node.compareTo(subtree) < 0) {
+            subtree.left = insert(subtree.left, node);
+        } else {
+            subtree.right = insert(subtree.right, node);
+        }
+        return update(subtree);
+    }
+
+    private static Node delete(Node subtree, Node node) {
+        if (subtree == null) {
+            return null;
+        }
+        if (subtree == node) {
+            return merge(node.left, node.right);
+        }
+        if (node.compareTo(subtree) < 0) {
+            subtree.left = delete(subtree.left, node);
+        } else {
+            subtree.right = delete(subtree.right, node);
+        }
+        return update(subtree);
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before a node and the nodes ordered after it.
+     *
+     * @param subtree the subtree
+     * @param node    the node to split at, which is not in the subtree
+     * @return the subtree of the nodes before, and the subtree of the nodes after
+     */
+    private static Node[] split(Node subtree, Node node) {
+        if (subtree == null) {
+            return new Node[]{null, null};
+        }
+        if (subtree.compareTo(node) < 0) {
+            Node[] parts = split(subtree.right, node);
+            subtree.right = parts[0];
+            parts[0] = update(subtree);
+            return parts;
+        }
+        Node[] parts = split(subtree.left, node);
+        subtree.left = parts[1];
+        parts[1] = update(subtree);
+        return parts;
+    }
+
+    /**
+     * Merges two subtrees, where every node of the first is ordered before every node of the
+     * second.
+     *
+     * @param left  the first subtree
+     * @param right the second subtree
+     * @return the merged subtree
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        long maxEnd = node.endEpochDay;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEndEpochDay);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEndEpochDay);
+        }
+        node.maxEndEpochDay = maxEnd;
+        return node;
+    }
+
+    private static void collectOverlapping(Node node, long fromEpochDay, long toEpochDay, List<Camp> result) {
+        if (node == null || node.maxEndEpochDay < fromEpochDay) {
+            return;
+        }
+        collectOverlapping(node.left, fromEpochDay, toEpochDay, result);
+        if (node.startEpochDay > toEpochDay) {
+            return;
+        }
+        if (node.endEpochDay >= fromEpochDay) {
+            result.add(node.camp);
+        }
+        collectOverlapping(node.right, fromEpochDay, toEpochDay, result);
+    }
+
+    private static void collectStartingBetween(Node node, long fromEpochDay, long toEpochDay, List<Camp> result) {
+        if (node == null) {
+            return;
+        }
+        if (node.startEpochDay >= fromEpochDay) {
+            collectStartingBetween(node.left, fromEpochDay, toEpochDay, result);
+            if (node.startEpochDay <= toEpochDay) {
+                result.add(node.camp);
+            }
+        }
+        if (node.startEpochDay <= toEpochDay) {
+            collectStartingBetween(node.right, fromEpochDay, toEpochDay, result);
+        }
+    }
+
+    private static String keyOf(String campID) {
+        return campID.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * A node of the treap, holding one camp with the days it was indexed under.
+     */
+    private static final class Node implements Comparable<Node> {
+
+        private final long startEpochDay;
+
+        private final long endEpochDay;
+
+        private final String key;
+
+        private final int priority;
+
+        private Camp camp;
+
+        /**
+         * The latest last day of the subtree rooted at this node.
+         */
+        private long maxEndEpochDay;
+
+        private Node left;
+
+        private Node right;
+
+        Node(Camp camp, String key, int priority) {
+            this.startEpochDay = camp.getStartEpochDay();
+            this.endEpochDay = camp.getEndEpochDay();
+            this.key = key;
+            this.priority = priority;
+            this.camp = camp;
+            this.maxEndEpochDay = endEpochDay;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int comparison = Long.compare(startEpochDay, other.startEpochDay);
+            if (comparison == 0) {
+                comparison = Long.compare(endEpochDay, other.endEpochDay);
+            }
+            return comparison != 0 ? comparison : key.compareTo(other.key);
+        }
+    }
+}
@@ -7,7 +7,10 @@ package main.repository.camp;
 
 import main.model.camp.Camp;
 import main.repository.Repository;
+import main.repository.RepositoryListener;
+import main.repository.RepositoryRegistry;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -26,20 +29,27 @@ public class CampRepository extends Repository<Camp> {
     private static final String FILE_PATH = "/data/camp/camp.txt";
 
     /**
-     * Constructs a new CampRepository object and loads the data from the camp data file.
+     * The interval tree over the camp dates, or null if it has not been built since the
+     * camps were last loaded or replaced as a whole.
+     */
+    private CampIntervalTree intervalTree = null;
+
+    /**
+     * Constructs a new CampRepository object. The data is loaded from the camp data file
+     * when the repository is opened by the {@link RepositoryRegistry}.
      */
     CampRepository() {
         super();
-        load();
+        addListener(new IntervalTreeListener());
     }
 
     /**
-     * Gets a new CampRepository object.
+     * Gets the shared CampRepository object, loading it on first use.
      *
-     * @return a new CampRepository object
+     * @return the shared CampRepository object
      */
     public static CampRepository getInstance() {
-        return new CampRepository();
+        return RepositoryRegistry.open(CampRepository.class, CampRepository::new);
     }
 
     /**
@@ -63,5 +73,110 @@ public class CampRepository extends Repository<Camp> {
             getAll().add(new Camp(map));
         }
     }
-}
 
+    /**
+     * Finds the camps taking place on any day of a date range. Camps whose dates cannot be
+     * parsed are never found.
+     *
+     * @param from the first day of the range
+     * @param to   the last day of the range
+     * @return the overlapping camps, in order of first day
+     */
+    public List<Camp> findCampsOverlapping(LocalDate from, LocalDate to) {
+        return findCampsOverlapping(from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * Finds the camps taking place on any day of a range of days.
+     *
+     * @param fromEpochDay the first day of the range, as a count of days since 1970-01-01
+     * @param toEpochDay   the last day of the range, as a count of days since 1970-01-01
+     * @return the overlapping camps, in order of first day
+     */
+    public List<Camp> findCampsOverlapping(long fromEpochDay, long toEpochDay) {
+        return getIntervalTree().findOverlapping(fromEpochDay, toEpochDay);
+    }
+
+    /**
+     * Finds the camps whose first day is in a date range. Camps whose dates cannot be parsed
+     * are never found.
+     *
+     * @param from the first day of the range
+     * @param to   the last day of the range
+     * @return the camps starting in the range, in order of first day
+     */
+    public List<Camp> findCampsStartingBetween(LocalDate from, LocalDate to) {
+        return findCampsStartingBetween(from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * Finds the camps whose first day is in a range of days.
+     *
+     * @param fromEpochDay the first day of the range, as a count of days since 1970-01-01
+     * @param toEpochDay   the last day of the range, as a count of days since 1970-01-01
+     * @return the camps starting in the range, in order of first day
+     */
+    public List<Camp> findCampsStartingBetween(long fromEpochDay, long toEpochDay) {
+        return getIntervalTree().findStartingBetween(fromEpochDay, toEpochDay);
+    }
+
+    /**
+     * Gets the interval tree over the camp dates, building it if the camps have been loaded
+     * or replaced as a whole since it was built. Between those, the tree is kept up to date
+     * one camp at a time by an {@link IntervalTreeListener}.
+     *
+     * @return the interval tree
+     */
+    private CampIntervalTree getIntervalTree() {
+        if (intervalTree == null) {
+            intervalTree = new CampIntervalTree(getAll());
+        }
+        return intervalTree;
+    }
+
+    /**
+     * Gets the fields to keep secondary indexes on: the staff in charge and the visibility of each camp.
+     *
+     * @return the names of the indexed fields
+     */
+    @Override
+    protected List<String> getIndexedFields() {
+        return List.of("staffID", "visibility");
+    }
+
+    /**
+     * Keeps the interval tree up to date with the camps put in and removed from the
+     * repository.
+     */
+    private final class IntervalTreeListener implements RepositoryListener<Camp> {
+
+        @Override
+        public void onPut(Camp camp) {
+            if (intervalTree != null) {
+                intervalTree.put(camp);
+            }
+        }
+
+        @Override
+        public void onRemove(Camp camp) {
+            if (intervalTree != null) {
+                intervalTree.remove(camp.getID());
+            }
+        }
+
+        @Override
+        public void onReset() {
+            intervalTree = null;
+        }
+    }
+
+    /**
+     * Gets the class of the objects stored in the repository.
+     *
+     * @return the Camp class
+     */
+    @Override
+    protected Class<Camp> getMappableClass() {
+        return Camp.class;
+    }
+}
@@ -0,0 +1,72 @@
+package main.repository.camp;
+
+import main.model.camp.Waitlist;
+import main.repository.Repository;
+import main.repository.RepositoryRegistry;
+
+import java.util.List;
+import java.util.Map;
+
+import static main.utils.config.Location.RESOURCE_LOCATION;
+
+/**
+ * The WaitlistRepository class is a repository that manages the persistence and retrieval of
+ * Waitlist objects through file I/O operations. It extends the Repository class, providing
+ * basic CRUD operations for the repository.
+ */
+public class WaitlistRepository extends Repository<Waitlist> {
+
+    /**
+     * The file path of the waitlist data file.
+     */
+    private static final String FILE_PATH = "/data/camp/waitlist.txt";
+
+    /**
+     * Constructs a new WaitlistRepository object. The data is loaded from the waitlist data
+     * file when the repository is opened by the {@link RepositoryRegistry}.
+     */
+    WaitlistRepository() {
+        super();
+    }
+
+    /**
+     * Gets the file path of the waitlist data file.
+     *
+     * @return the file path of the waitlist data file
+     */
+    @Override
+    public String getFilePath() {
+        return RESOURCE_LOCATION + FILE_PATH;
+    }
+
+    /**
+     * Gets the shared WaitlistRepository object, loading it on first use.
+     *
+     * @return the shared WaitlistRepository object
+     */
+    public static WaitlistRepository getInstance() {
+        return RepositoryRegistry.open(WaitlistRepository.class, WaitlistRepository::new);
+    }
+
+    /**
+     * Sets the list of mappable objects by converting a list of maps to a list of Waitlist objects.
+     *
+     * @param listOfMappableObjects the list of mappable objects
+     */
+    @Override
+    public void setAll(List<Map<String, String>> listOfMappableObjects) {
+        for (Map<String, String> map : listOfMappableObjects) {
+            getAll().add(new Waitlist(map));
+        }
+    }
+
+    /**
+     * Gets the class of the objects stored in the repository.
+     *
+     * @return the Waitlist class
+     */
+    @Override
+    protected Class<Waitlist> getMappableClass() {
+        return Waitlist.class;
+    }
+}
@@ -7,6 +7,7 @@ package main.repository.request;
 
 import main.model.request.Enquiry;
 import main.repository.Repository;
+import main.repository.RepositoryRegistry;
 
 import java.util.List;
 import java.util.Map;
@@ -26,11 +27,11 @@ public class EnquiryRepository extends Repository<Enquiry> {
     private static final String FILE_PATH = "/data/request/enquiry.txt";
 
     /**
-     * Constructs a new EnquiryRepository object and loads the data from the enquiry data file.
+     * Constructs a new EnquiryRepository object. The data is loaded from the enquiry data file
+     * when the repository is opened by the {@link RepositoryRegistry}.
      */
     EnquiryRepository() {
         super();
-        load();
     }
 
     /**
@@ -44,12 +45,12 @@ public class EnquiryRepository extends Repository<Enquiry> {
     }
 
     /**
-     * Gets a new EnquiryRepository object.
+     * Gets the shared EnquiryRepository object, loading it on first use.
      *
-     * @return a new EnquiryRepository object
+     * @return the shared EnquiryRepository object
      */
     public static EnquiryRepository getInstance() {
-        return new EnquiryRepository();
+        return RepositoryRegistry.open(EnquiryRepository.class, EnquiryRepository::new);
     }
 
     /**
@@ -63,4 +64,24 @@ public class EnquiryRepository extends Repository<Enquiry> {
             getAll().add(new Enquiry(map));
         }
     }
+
+    /**
+     * Gets the fields to keep secondary indexes on: the sender, camp and status of each enquiry.
+     *
+     * @return the names of the indexed fields
+     */
+    @Override
+    protected List<String> getIndexedFields() {
+        return List.of("senderID", "campID", "requestStatus");
+    }
+
+    /**
+     * Gets the class of the objects stored in the repository.
+     *
+     * @return the Enquiry class
+     */
+    @Override
+    protected Class<Enquiry> getMappableClass() {
+        return Enquiry.class;
+    }
 }
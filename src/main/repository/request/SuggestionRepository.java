@@ -6,6 +6,7 @@
 package main.repository.request;
 
 import main.repository.Repository;
+import main.repository.RepositoryRegistry;
 import main.model.request.Suggestion;
 
 import java.util.List;
@@ -26,11 +27,11 @@ public class SuggestionRepository extends Repository<Suggestion> {
     private static final String FILE_PATH = "/data/request/suggestion.txt";
 
     /**
-     * Constructs a new SuggestionRepository object and loads the data from the suggestion data file.
+     * Constructs a new SuggestionRepository object. The data is loaded from the suggestion data
+     * file when the repository is opened by the {@link RepositoryRegistry}.
      */
     SuggestionRepository() {
         super();
-        load();
     }
 
     /**
@@ -44,12 +45,12 @@ public class SuggestionRepository extends Repository<Suggestion> {
     }
 
     /**
-     * Gets a new SuggestionRepository object.
+     * Gets the shared SuggestionRepository object, loading it on first use.
      *
-     * @return a new SuggestionRepository object
+     * @return the shared SuggestionRepository object
      */
     public static SuggestionRepository getInstance() {
-        return new SuggestionRepository();
+        return RepositoryRegistry.open(SuggestionRepository.class, SuggestionRepository::new);
     }
 
     /**
@@ -63,4 +64,24 @@ public class SuggestionRepository extends Repository<Suggestion> {
             getAll().add(new Suggestion(map));
         }
     }
+
+    /**
+     * Gets the fields to keep secondary indexes on: the sender, camp and status of each suggestion.
+     *
+     * @return the names of the indexed fields
+     */
+    @Override
+    protected List<String> getIndexedFields() {
+        return List.of("studentID", "campID", "requestStatus");
+    }
+
+    /**
+     * Gets the class of the objects stored in the repository.
+     *
+     * @return the Suggestion class
+     */
+    @Override
+    protected Class<Suggestion> getMappableClass() {
+        return Suggestion.class;
+    }
 }
@@ -7,6 +7,7 @@ package main.repository.user;
 
 import main.model.user.Staff;
 import main.repository.Repository;
+import main.repository.RepositoryRegistry;
 
 import java.util.List;
 import java.util.Map;
@@ -30,16 +31,15 @@ public class StaffRepository extends Repository<Staff> {
      */
     StaffRepository() {
         super();
-        load();
     }
 
     /**
-     * Gets a new instance of StaffRepository.
+     * Gets the shared instance of StaffRepository, loading it on first use.
      *
-     * @return a new instance of StaffRepository
+     * @return the shared instance of StaffRepository
      */
     public static StaffRepository getInstance() {
-        return new StaffRepository();
+        return RepositoryRegistry.open(StaffRepository.class, StaffRepository::new);
     }
 
     /**
@@ -63,5 +63,14 @@ public class StaffRepository extends Repository<Staff> {
             getAll().add(new Staff(map));
         }
     }
-}
 
+    /**
+     * Gets the class of the objects stored in the repository.
+     *
+     * @return the Staff class
+     */
+    @Override
+    protected Class<Staff> getMappableClass() {
+        return Staff.class;
+    }
+}
@@ -9,6 +9,7 @@ package main.repository.user;
 
 import main.model.user.Student;
 import main.repository.Repository;
+import main.repository.RepositoryRegistry;
 
 import java.util.List;
 import java.util.Map;
@@ -28,16 +29,15 @@ public class StudentRepository extends Repository<Student> {
 
     StudentRepository() {
         super();
-        load();
     }
 
     /**
-     * Gets a new instance of the StudentRepository class.
+     * Gets the shared instance of the StudentRepository class, loading it on first use.
      *
-     * @return a new instance of the StudentRepository class
+     * @return the shared instance of the StudentRepository class
      */
     public static StudentRepository getInstance() {
-        return new StudentRepository();
+        return RepositoryRegistry.open(StudentRepository.class, StudentRepository::new);
     }
 
     /**
@@ -61,4 +61,14 @@ public class StudentRepository extends Repository<Student> {
             getAll().add(new Student(map));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the class of the objects stored in the repository.
+     *
+     * @return the Student class
+     */
+    @Override
+    protected Class<Student> getMappableClass() {
+        return Student.class;
+    }
+}
@@ -1,11 +1,60 @@
 package main.utils.config;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
 /**
- * This class contains the current date.
+ * This class contains the clock giving the current date.
+ * <p>
+ * The clock is fixed at the date the camp data was prepared for unless another clock is set,
+ * for example {@link Clock#systemDefaultZone()} to run against the real date, or a fixed
+ * clock to check how camps behave on a given day.
  */
 public class CurrentDate {
     /**
-     * The current date when comparing camp registration deadline
+     * The current date when no other clock has been set.
+     */
+    public static final LocalDate DEFAULT_DATE = LocalDate.of(2023, 1, 1);
+
+    /**
+     * The clock giving the current date.
+     */
+    private static volatile Clock clock = Clock.fixed(DEFAULT_DATE.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+
+    /**
+     * Gets the clock giving the current date.
+     *
+     * @return the clock
+     */
+    public static Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the clock giving the current date.
+     *
+     * @param clock the clock
+     */
+    public static void setClock(Clock clock) {
+        CurrentDate.clock = clock;
+    }
+
+    /**
+     * Gets the current date.
+     *
+     * @return the current date
+     */
+    public static LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Gets the current date when comparing camp registration deadlines and camp dates.
+     *
+     * @return the current date as a count of days since 1970-01-01
      */
-    public static final String DATE = "20230101";
+    public static long getEpochDay() {
+        return today().toEpochDay();
+    }
 }
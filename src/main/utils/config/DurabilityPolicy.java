@@ -0,0 +1,27 @@
+package main.utils.config;
+
+/**
+ * The DurabilityPolicy enum represents how soon a change recorded in a repository log
+ * is forced to disk, trading the number of disk writes against the window of changes
+ * that a crash can lose.
+ */
+public enum DurabilityPolicy {
+
+    /**
+     * Every change is written and forced to disk before the mutation returns.
+     */
+    SYNC,
+
+    /**
+     * Changes made close together are written and forced to disk as one batch, and each
+     * mutation returns once the batch holding its change is on disk.
+     */
+    GROUP_COMMIT,
+
+    /**
+     * Changes are written and forced to disk in batches by a background flusher, and
+     * mutations return immediately. Changes made since the last batch are lost on a crash,
+     * but not on a normal exit.
+     */
+    ASYNC
+}
@@ -0,0 +1,56 @@
+package main.utils.config;
+
+/**
+ * This class contains the settings that control how repositories are persisted.
+ */
+public class StorageConfig {
+    /**
+     * The format in which repositories save their data files. A repository whose data file
+     * only exists in the other format loads that file and saves in this format from then on.
+     */
+    public static final StorageFormat STORAGE_FORMAT = StorageFormat.TEXT;
+
+    /**
+     * Whether repositories persist each change by appending one record to a log file
+     * next to the data file, instead of rewriting the whole data file.
+     */
+    public static final boolean APPEND_ONLY_LOG = true;
+
+    /**
+     * The number of log records after which the log is compacted into the data file
+     * in the background.
+     */
+    public static final int COMPACTION_THRESHOLD = 500;
+
+    /**
+     * How soon a change appended to a log is forced to disk. Under the default, a burst of
+     * changes is forced to disk in a few batches and no change is lost on a crash once its
+     * mutation has returned; {@link DurabilityPolicy#ASYNC} trades that guarantee for
+     * mutations that do not wait for the disk.
+     */
+    public static final DurabilityPolicy DURABILITY_POLICY = DurabilityPolicy.GROUP_COMMIT;
+
+    /**
+     * The longest time, in milliseconds, that a change waits in memory before the
+     * background flusher writes it to the log under {@link DurabilityPolicy#ASYNC}.
+     */
+    public static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    /**
+     * The time, in milliseconds, that the background flusher waits for further changes to
+     * join a batch under {@link DurabilityPolicy#GROUP_COMMIT}.
+     */
+    public static final long GROUP_COMMIT_WINDOW_MILLIS = 2;
+
+    /**
+     * The number of distinct changed objects that makes the background flusher write a
+     * batch at once instead of waiting for the interval to pass.
+     */
+    public static final int FLUSH_BATCH_SIZE = 128;
+
+    /**
+     * The size, in bytes, from which a text data file is loaded by memory-mapping it and
+     * decoding its chunks in parallel instead of reading it line by line.
+     */
+    public static final long PARALLEL_LOAD_THRESHOLD_BYTES = 1L << 20;
+}
@@ -0,0 +1,18 @@
+package main.utils.config;
+
+/**
+ * The StorageFormat enum represents the format in which repositories save their data files.
+ */
+public enum StorageFormat {
+
+    /**
+     * One line of key-value pairs per object, in a {@code .txt} file.
+     */
+    TEXT,
+
+    /**
+     * A schema header followed by binary records, in a {@code .bin} file next to the
+     * {@code .txt} file.
+     */
+    BINARY
+}
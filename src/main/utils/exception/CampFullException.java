@@ -0,0 +1,29 @@
+package main.utils.exception;
+
+/**
+ * The {@link CampFullException} class is a custom exception that is thrown when a
+ * student tries to take a camp slot, as attendee or camp committee member, and every
+ * slot of that kind is already taken.
+ * It extends the {@link Exception} class.
+ */
+public class CampFullException extends Exception {
+
+    /**
+     * Creates a new instance of the {@link CampFullException} class with
+     * a default error message.
+     * The default message is "Camp is full".
+     */
+    public CampFullException() {
+        super("Camp is full");
+    }
+
+    /**
+     * Creates a new instance of the {@link CampFullException} class with
+     * a custom error message.
+     *
+     * @param message The custom error message to be used.
+     */
+    public CampFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,594 @@
+package main.utils.iocontrol;
+
+import main.utils.config.DurabilityPolicy;
+import main.utils.config.StorageConfig;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static main.utils.iocontrol.ObjectOutputControlCharacters.DELIMITER_STRING;
+
+/**
+ * An append-only log of changes made to a data file.
+ * <p>
+ * Each change is one line: a put, which carries the full key-value representation of
+ * an object, or a delete, which carries only its key. Replaying the log in order on top
+ * of the data file gives the current contents. When the log grows long it is compacted:
+ * the log is set aside, and a fresh snapshot of the data file is written in the
+ * background, after which the set-aside log is discarded.
+ * <p>
+ * Unless the {@link StorageConfig#DURABILITY_POLICY} is {@link DurabilityPolicy#SYNC},
+ * records are first held in memory, where a later record for the same key replaces an
+ * earlier one, and a background flusher writes each batch with a single forced write.
+ * {@link #flush()} writes the held records at once.
+ * <p>
+ * Every record carries a sequence number that is unique across all logs and increases
+ * with time, so that a {@link TransactionJournal} can tell which of its changes already
+ * reached a log.
+ */
+public class AppendOnlyLog {
+
+    /**
+     * The type of change recorded by a log record.
+     */
+    public enum Operation {
+        /**
+         * The object with the key was added or replaced.
+         */
+        PUT,
+        /**
+         * The object with the key was removed.
+         */
+        DELETE
+    }
+
+    /**
+     * A single change read back from the log.
+     *
+     * @param operation the type of change
+     * @param sequence  the sequence number of the change
+     * @param key       the key of the changed object
+     * @param fields    the String representation of the object, as written by
+     *                  {@link StringAndMapConvertor#mapToString(Map)}, or null for a delete
+     */
+    public record Record(Operation operation, long sequence, String key, String fields) {
+    }
+
+    /**
+     * The sequence number of the latest record created or read, across all logs.
+     */
+    private static final AtomicLong LAST_SEQUENCE = new AtomicLong();
+
+    /**
+     * The worker that writes compacted snapshots in the background.
+     */
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The worker that writes batches of held records to the logs in the background.
+     */
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final Path compactingPath;
+
+    /**
+     * The number of records appended since the log was last compacted.
+     */
+    private int recordCount;
+
+    /**
+     * The compaction currently being written in the background, if any.
+     */
+    private Future<?> compaction;
+
+    /**
+     * The records not yet written to the log file, keyed by the key of their object, in
+     * the order their objects were last changed.
+     */
+    private final Map<String, String> pendingRecords = new LinkedHashMap<>();
+
+    /**
+     * The number of records held so far, used to tell a waiting mutation when its record
+     * is on disk.
+     */
+    private long heldSequence;
+
+    /**
+     * The value of {@link #heldSequence} up to which every record is on disk.
+     */
+    private long durableSequence;
+
+    /**
+     * Whether the background flusher has a write of this log scheduled.
+     */
+    private boolean flushScheduled;
+
+    /**
+     * The error raised by the last background write, if it failed.
+     */
+    private RuntimeException flushFailure;
+
+    /**
+     * Creates the log for the given data file. The log is kept in a file next to it.
+     *
+     * @param FILE_PATH the path of the data file
+     */
+    public AppendOnlyLog(final String FILE_PATH) {
+        this.snapshotPath = Path.of(FILE_PATH);
+        this.logPath = Path.of(FILE_PATH + ".log");
+        this.compactingPath = Path.of(FILE_PATH + ".log.compacting");
+    }
+
+    /**
+     * Appends a put record for an object.
+     *
+     * @param key the key of the object
+     * @param map the key-value representation of the object
+     */
+    public synchronized void appendPut(String key, Map<String, String> map) {
+        append(key, encodePut(key, map), StorageConfig.DURABILITY_POLICY);
+    }
+
+    /**
+     * Appends a delete record for an object.
+     *
+     * @param key the key of the object
+     */
+    public synchronized void appendDelete(String key) {
+        append(key, encodeDelete(key), StorageConfig.DURABILITY_POLICY);
+    }
+
+    /**
+     * Appends a record that is already on disk in the {@link TransactionJournal}. It is
+     * held for the background flusher without waiting, whatever the durability policy.
+     *
+     * @param key  the key of the changed object
+     * @param line the record, as encoded by {@link #encodePut(String, Map)} or
+     *             {@link #encodeDelete(String)}
+     */
+    synchronized void appendCommitted(String key, String line) {
+        append(key, line, DurabilityPolicy.ASYNC);
+    }
+
+    /**
+     * Appends records recovered from the {@link TransactionJournal}, writing them at once.
+     *
+     * @param lines the records to append
+     * @throws RuntimeException if the records could not be appended
+     */
+    synchronized void appendRecovered(List<String> lines) {
+        if (!lines.isEmpty()) {
+            writeRecords(lines);
+            recordCount += lines.size();
+        }
+    }
+
+    /**
+     * Encodes a put record for an object under a new sequence number.
+     *
+     * @param key the key of the object
+     * @param map the key-value representation of the object
+     * @return the encoded record
+     */
+    static String encodePut(String key, Map<String, String> map) {
+        StringBuilder stringBuilder = new StringBuilder(map.size() * 24 + key.length() + 32);
+        stringBuilder.append(Operation.PUT).append(DELIMITER_STRING).append(LAST_SEQUENCE.incrementAndGet())
+                .append(DELIMITER_STRING).append(key).append(DELIMITER_STRING);
+        StringAndMapConvertor.encode(map, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Encodes a delete record for an object under a new sequence number.
+     *
+     * @param key the key of the object
+     * @return the encoded record
+     */
+    static String encodeDelete(String key) {
+        return Operation.DELETE + DELIMITER_STRING + LAST_SEQUENCE.incrementAndGet() + DELIMITER_STRING
+                + key + DELIMITER_STRING;
+    }
+
+    /**
+     * Appends one record according to the given durability policy: written at once under
+     * {@link DurabilityPolicy#SYNC}, otherwise held for the background flusher, waiting
+     * for it under {@link DurabilityPolicy#GROUP_COMMIT}.
+     *
+     * @param key    the key of the changed object
+     * @param line   the record to append
+     * @param policy the durability policy to follow
+     * @throws RuntimeException if the record could not be appended
+     */
+    private void append(String key, String line, DurabilityPolicy policy) {
+        recordCount++;
+        if (policy == DurabilityPolicy.SYNC) {
+            writeRecords(List.of(line));
+            return;
+        }
+        pendingRecords.remove(key);
+        pendingRecords.put(key, line);
+        long sequence = ++heldSequence;
+        if (pendingRecords.size() >= StorageConfig.FLUSH_BATCH_SIZE) {
+            scheduleFlush(0);
+        } else if (policy == DurabilityPolicy.GROUP_COMMIT) {
+            scheduleFlush(StorageConfig.GROUP_COMMIT_WINDOW_MILLIS);
+        } else {
+            scheduleFlush(StorageConfig.FLUSH_INTERVAL_MILLIS);
+        }
+        if (policy == DurabilityPolicy.GROUP_COMMIT) {
+            awaitDurable(sequence);
+        }
+    }
+
+    /**
+     * Asks the background flusher to write the held records after the given delay,
+     * unless a write is already scheduled. A delay of zero always schedules a write.
+     *
+     * @param delayMillis the delay in milliseconds
+     */
+    private void scheduleFlush(long delayMillis) {
+        if (flushScheduled && delayMillis > 0) {
+            return;
+        }
+        flushScheduled = true;
+        FLUSHER.schedule(this::flushInBackground, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the held records on the background flusher. A failure is kept for the
+     * mutations waiting on the write and reported; the records stay held for the next write.
+     */
+    private synchronized void flushInBackground() {
+        flushScheduled = false;
+        try {
+            writePendingRecords();
+        } catch (RuntimeException e) {
+            flushFailure = e;
+            notifyAll();
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until every record up to the given sequence is on disk.
+     *
+     * @param sequence the sequence of the record to wait for
+     * @throws RuntimeException if the write holding the record failed
+     */
+    private void awaitDurable(long sequence) {
+        while (durableSequence < sequence) {
+            if (flushFailure != null) {
+                throw flushFailure;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes every held record to the log file and forces it to disk. This is a barrier:
+     * when it returns, every change appended before the call is on disk.
+     *
+     * @throws RuntimeException if the records could not be written
+     */
+    public synchronized void flush() {
+        writePendingRecords();
+    }
+
+    /**
+     * Writes every held record to the log file, and wakes the mutations waiting on them.
+     *
+     * @throws RuntimeException if the records could not be written
+     */
+    private void writePendingRecords() {
+        if (!pendingRecords.isEmpty()) {
+            writeRecords(new ArrayList<>(pendingRecords.values()));
+            pendingRecords.clear();
+        }
+        markDurable();
+    }
+
+    /**
+     * Records that every held record is on disk, and wakes the mutations waiting on them.
+     */
+    private void markDurable() {
+        durableSequence = heldSequence;
+        flushFailure = null;
+        notifyAll();
+    }
+
+    /**
+     * Appends records to the log file with a single write and forces it to disk.
+     *
+     * @param lines the records to append
+     * @throws RuntimeException if the records could not be appended
+     */
+    private void writeRecords(List<String> lines) {
+        StringBuilder batch = new StringBuilder();
+        for (String line : lines) {
+            batch.append(line).append('\n');
+        }
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(batch.toString());
+        try (FileChannel channel = FileChannel.open(logPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be appended to log: " + logPath);
+        }
+    }
+
+    /**
+     * Reads every record that has not yet been compacted into the data file, oldest first.
+     * A record cut short by a crash while it was being written is skipped.
+     *
+     * @return the list of records
+     * @throws RuntimeException if the log could not be read
+     */
+    public synchronized List<Record> read() {
+        List<Record> records = new ArrayList<>();
+        truncateTornTail(logPath);
+        readInto(compactingPath, records);
+        int compactingRecords = records.size();
+        readInto(logPath, records);
+        recordCount = records.size() - compactingRecords;
+        return records;
+    }
+
+    /**
+     * Reads the records of one log file into a list.
+     *
+     * @param path    the path of the log file
+     * @param records the list to add the records to
+     */
+    private static void readInto(Path path, List<Record> records) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader bufferedReader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                Record record = parse(line);
+                if (record != null) {
+                    records.add(record);
+                    observeSequence(record.sequence());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from log: " + path);
+        }
+    }
+
+    /**
+     * Cuts off a final line left incomplete by a crash, so that the next record appended
+     * starts on a line of its own.
+     *
+     * @param path the path of the log file
+     * @throws RuntimeException if the log could not be repaired
+     */
+    static void truncateTornTail(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            long length = file.length();
+            long end = length;
+            while (end > 0) {
+                file.seek(end - 1);
+                if (file.read() == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < length) {
+                file.setLength(end);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Log could not be repaired: " + path);
+        }
+    }
+
+    /**
+     * Parses one line of the log.
+     *
+     * @param line the line to parse
+     * @return the record, or null if the line is incomplete or malformed
+     */
+    static Record parse(String line) {
+        int operationEnd = line.indexOf(DELIMITER_STRING);
+        if (operationEnd < 0) {
+            return null;
+        }
+        int sequenceEnd = line.indexOf(DELIMITER_STRING, operationEnd + DELIMITER_STRING.length());
+        if (sequenceEnd < 0) {
+            return null;
+        }
+        int keyEnd = line.indexOf(DELIMITER_STRING, sequenceEnd + DELIMITER_STRING.length());
+        if (keyEnd < 0) {
+            return null;
+        }
+        String key = line.substring(sequenceEnd + DELIMITER_STRING.length(), keyEnd);
+        String payload = line.substring(keyEnd + DELIMITER_STRING.length());
+        try {
+            Operation operation = Operation.valueOf(line.substring(0, operationEnd));
+            long sequence = Long.parseLong(line.substring(operationEnd + DELIMITER_STRING.length(), sequenceEnd));
+            if (operation == Operation.DELETE) {
+                return new Record(operation, sequence, key, null);
+            }
+            if (!StringAndMapConvertor.isWellFormed(payload)) {
+                return null;
+            }
+            return new Record(operation, sequence, key, payload);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the log is long enough to be compacted and no compaction is running.
+     *
+     * @param threshold the number of records that triggers a compaction
+     * @return true if a compaction should be started, false otherwise
+     */
+    public synchronized boolean needsCompaction(int threshold) {
+        return recordCount >= threshold && (compaction == null || compaction.isDone());
+    }
+
+    /**
+     * Checks whether the log holds any record that is not yet part of the data file.
+     *
+     * @return true if the log is empty, false otherwise
+     */
+    public synchronized boolean isEmpty() {
+        return recordCount == 0 && pendingRecords.isEmpty()
+                && !Files.exists(logPath) && !Files.exists(compactingPath);
+    }
+
+    /**
+     * Starts compacting the log in the background. The current log is set aside and new
+     * records go to a fresh log; the given snapshot, which must already include every
+     * record in the current log, then replaces the data file.
+     *
+     * @param content the content of the new data file
+     * @throws RuntimeException if the log could not be set aside
+     */
+    public synchronized void compactInBackground(byte[] content) {
+        awaitCompaction();
+        writePendingRecords();
+        try {
+            if (Files.exists(logPath)) {
+                Files.move(logPath, compactingPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Log could not be compacted: " + logPath);
+        }
+        recordCount = 0;
+        compaction = COMPACTOR.submit(() -> installSnapshot(content));
+    }
+
+    /**
+     * Replaces the data file with the given content and discards the whole log, including
+     * any record still held in memory or waiting to be compacted.
+     *
+     * @param content the content of the new data file
+     * @throws RuntimeException if the data file could not be written
+     */
+    public synchronized void compactNow(byte[] content) {
+        awaitCompaction();
+        writeSnapshot(snapshotPath, content);
+        try {
+            Files.deleteIfExists(compactingPath);
+            Files.deleteIfExists(logPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Log could not be discarded: " + logPath);
+        }
+        pendingRecords.clear();
+        markDurable();
+        recordCount = 0;
+    }
+
+    /**
+     * Writes a snapshot set aside by {@link #compactInBackground(byte[])} and discards the
+     * log it replaces.
+     *
+     * @param content the content of the new data file
+     */
+    private void installSnapshot(byte[] content) {
+        writeSnapshot(snapshotPath, content);
+        try {
+            Files.deleteIfExists(compactingPath);
+        } catch (IOException e) {
+            System.err.println("Compacted log could not be discarded: " + compactingPath);
+        }
+    }
+
+    /**
+     * Records that a sequence number is in use, so that records created later get larger ones.
+     *
+     * @param sequence the sequence number in use
+     */
+    static void observeSequence(long sequence) {
+        LAST_SEQUENCE.accumulateAndGet(sequence, Math::max);
+    }
+
+    /**
+     * Waits for the compaction running in the background, if any, to finish.
+     */
+    private void awaitCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Log compaction failed: " + e.getCause().getMessage());
+        }
+        compaction = null;
+    }
+
+    /**
+     * Writes a data file through a temporary file that is moved into place, so that a
+     * crash never leaves a half-written data file behind.
+     *
+     * @param path    the path of the data file
+     * @param content the content to write
+     * @throws RuntimeException if the data file could not be written
+     */
+    static void writeSnapshot(Path path, byte[] content) {
+        File parent = path.toAbsolutePath().getParent().toFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        Path temporaryPath = Path.of(path + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(temporaryPath.toFile())) {
+            outputStream.write(content);
+            outputStream.getFD().sync();
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + path);
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + path);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package main.utils.iocontrol;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The BinaryRecordFormat class reads and writes the binary form of a data file.
+ * <p>
+ * A binary data file starts with a schema header: a magic number and version, then for
+ * each field its name, its kind and, for an enum field, the names of its constants in
+ * ordinal order. Records follow one after another, each holding the fields in header order:
+ * <ul>
+ *     <li>int and Integer fields as zigzag varints,</li>
+ *     <li>enum fields as a varint of the ordinal plus one, with zero for null,</li>
+ *     <li>every other field as a varint byte length followed by its UTF-8 bytes, holding the
+ *     same text as in the key-value representation.</li>
+ * </ul>
+ * Field names are written once per file rather than once per record. Fields are matched
+ * by name when reading, so a field added to or removed from a class since the file was
+ * written is left at its default or skipped, and an enum constant is found by the name
+ * the header gives for its ordinal.
+ */
+public final class BinaryRecordFormat {
+
+    /**
+     * The first bytes of every binary data file.
+     */
+    private static final int MAGIC = 0x53434231;
+
+    /**
+     * The version of the binary format.
+     */
+    private static final int VERSION = 1;
+
+    private BinaryRecordFormat() {
+    }
+
+    /**
+     * Encodes a list of objects of one class.
+     *
+     * @param type    the class of the objects
+     * @param objects the objects to encode
+     * @return the binary data file
+     */
+    public static byte[] write(Class<?> type, List<? extends Mappable> objects) {
+        MappableCodec codec = MappableCodec.of(type);
+        Output output = new Output(objects.size() * 128 + 256);
+        output.writeInt(MAGIC);
+        output.writeVarint(VERSION);
+        output.writeVarint(codec.size());
+        for (int i = 0; i < codec.size(); i++) {
+            output.writeString(codec.name(i));
+            output.writeVarint(codec.kind(i).ordinal());
+            if (codec.kind(i) == MappableCodec.Kind.ENUM) {
+                Object[] enumValues = codec.enumValues(i);
+                output.writeVarint(enumValues.length);
+                for (Object enumValue : enumValues) {
+                    output.writeString(((Enum<?>) enumValue).name());
+                }
+            }
+        }
+        for (Mappable object : objects) {
+            for (int i = 0; i < codec.size(); i++) {
+                switch (codec.kind(i)) {
+                    case INT -> output.writeZigzag(codec.getInt(i, object));
+                    case INTEGER -> {
+                        Object value = codec.get(i, object);
+                        output.writeZigzag(value == null ? 0 : (Integer) value);
+                    }
+                    case ENUM -> {
+                        Object value = codec.get(i, object);
+                        output.writeVarint(value == null ? 0 : ((Enum<?>) value).ordinal() + 1);
+                    }
+                    default -> output.writeString(codec.getString(i, object));
+                }
+            }
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decodes a binary data file into new objects of one class. The class must have a
+     * constructor without arguments.
+     *
+     * @param type  the class of the objects
+     * @param bytes the binary data file
+     * @param <T>   the class of the objects
+     * @return the decoded objects
+     * @throws IllegalArgumentException if the bytes are not a binary data file
+     */
+    public static <T> List<T> read(Class<T> type, byte[] bytes) {
+        List<T> objects = new ArrayList<>();
+        if (bytes.length == 0) {
+            return objects;
+        }
+        MappableCodec codec = MappableCodec.of(type);
+        Input input = new Input(bytes);
+        if (input.readInt() != MAGIC || input.readVarint() != VERSION) {
+            throw new IllegalArgumentException("Not a binary data file");
+        }
+        int fieldCount = input.readVarint();
+        MappableCodec.Kind[] fileKinds = new MappableCodec.Kind[fieldCount];
+        int[] positions = new int[fieldCount];
+        Object[][] fileEnumConstants = new Object[fieldCount][];
+        for (int i = 0; i < fieldCount; i++) {
+            positions[i] = codec.position(input.readString());
+            fileKinds[i] = MappableCodec.Kind.values()[input.readVarint()];
+            if (fileKinds[i] == MappableCodec.Kind.ENUM) {
+                int constantCount = input.readVarint();
+                fileEnumConstants[i] = new Object[constantCount];
+                for (int j = 0; j < constantCount; j++) {
+                    String name = input.readString();
+                    if (positions[i] >= 0 && codec.kind(positions[i]) == MappableCodec.Kind.ENUM) {
+                        fileEnumConstants[i][j] = codec.enumConstant(positions[i], name);
+                    } else {
+                        fileEnumConstants[i][j] = name;
+                    }
+                }
+            }
+        }
+        while (input.hasRemaining()) {
+            Object object = codec.newInstance();
+            for (int i = 0; i < fieldCount; i++) {
+                readField(input, codec, object, fileKinds[i], positions[i], fileEnumConstants[i]);
+            }
+            objects.add(type.cast(object));
+        }
+        return objects;
+    }
+
+    /**
+     * Reads one field of a record into an object. A field whose kind has changed since the
+     * file was written is converted through its key-value text.
+     *
+     * @param input         the input to read from
+     * @param codec         the codec of the object's class
+     * @param object        the object to write to
+     * @param fileKind      the kind of the field in the file
+     * @param position      the position of the field in the class, or -1 to skip it
+     * @param enumConstants the constants of an enum field by file ordinal, or null
+     */
+    private static void readField(Input input, MappableCodec codec, Object object,
+                                  MappableCodec.Kind fileKind, int position, Object[] enumConstants) {
+        switch (fileKind) {
+            case INT, INTEGER -> {
+                int value = input.readZigzag();
+                if (position < 0) {
+                    return;
+                }
+                switch (codec.kind(position)) {
+                    case INT -> codec.setInt(position, object, value);
+                    case INTEGER -> codec.set(position, object, value);
+                    default -> codec.setString(position, object, Integer.toString(value));
+                }
+            }
+            case ENUM -> {
+                int ordinal = input.readVarint();
+                if (position < 0 || ordinal == 0) {
+                    return;
+                }
+                Object constant = enumConstants[ordinal - 1];
+                if (codec.kind(position) == MappableCodec.Kind.ENUM && !(constant instanceof String)) {
+                    codec.set(position, object, constant);
+                } else {
+                    codec.setString(position, object, constant == null ? null : constant.toString());
+                }
+            }
+            default -> {
+                if (position < 0) {
+                    input.skipString();
+                } else {
+                    codec.setString(position, object, input.readString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bytes start like a binary data file.
+     *
+     * @param bytes the bytes to check
+     * @return true if the bytes start with the magic number, false otherwise
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes.length >= 4 && new Input(bytes).readInt() == MAGIC;
+    }
+
+    /**
+     * A growable buffer of bytes with the encodings of the format.
+     */
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output(int size) {
+            super(size);
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void writeZigzag(int value) {
+            writeVarint((value << 1) ^ (value >> 31));
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            write(utf8, 0, utf8.length);
+        }
+    }
+
+    /**
+     * A cursor over the bytes of a binary data file.
+     */
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean hasRemaining() {
+            return position < bytes.length;
+        }
+
+        int readInt() {
+            return (bytes[position++] & 0xFF) << 24 | (bytes[position++] & 0xFF) << 16
+                    | (bytes[position++] & 0xFF) << 8 | (bytes[position++] & 0xFF);
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        int readZigzag() {
+            int value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int length = readVarint();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        void skipString() {
+            position += readVarint();
+        }
+    }
+}
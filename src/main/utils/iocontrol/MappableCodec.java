@@ -0,0 +1,619 @@
+package main.utils.iocontrol;
+
+import main.utils.parameters.EmptyID;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static main.utils.iocontrol.ObjectOutputControlCharacters.DELIMITER_STRING;
+import static main.utils.iocontrol.ObjectOutputControlCharacters.SEPARATOR_STRING;
+
+/**
+ * The MappableCodec class converts the objects of one {@link Mappable} class to and from
+ * their key-value representation.
+ * <p>
+ * The fields of the class are looked up once, when the codec of the class is first
+ * requested, and each is given a slot holding the conversion for its type and a getter and
+ * setter derived from the field's {@link VarHandle}, adapted once to an exact type so that
+ * every call is an {@link MethodHandle#invokeExact} without argument conversion. Static and
+ * transient fields are not part of the representation. Int fields are read and written as
+ * primitives, and enum constants are found by name in a table built once per enum type.
+ */
+public final class MappableCodec {
+
+    /**
+     * The kinds of field a slot can hold.
+     */
+    enum Kind {
+        /**
+         * A String field, copied as is.
+         */
+        STRING,
+        /**
+         * An int field.
+         */
+        INT,
+        /**
+         * An Integer field.
+         */
+        INTEGER,
+        /**
+         * An enum field, stored by constant name.
+         */
+        ENUM,
+        /**
+         * Any other field, stored with {@link Object#toString()} and restored only if it
+         * accepts a String.
+         */
+        OTHER,
+        /**
+         * A field of a value type with a {@code public static valueOf(String)} method, stored
+         * with {@link Object#toString()} and restored with {@code valueOf}. A missing value is
+         * passed to {@code valueOf} as null.
+         */
+        PARSED
+    }
+
+    /**
+     * One field of the class.
+     *
+     * @param name          the name of the field, used as its key
+     * @param kind          the kind of the field
+     * @param getter        reads the field; of type {@code (Object)int} for an int field and
+     *                      {@code (Object)Object} otherwise
+     * @param setter        writes the field; of type {@code (Object,int)void} for an int field
+     *                      and {@code (Object,Object)void} otherwise, taking the String to
+     *                      parse for a parsed field
+     * @param enumConstants the constants of the field's enum type by name, or null if the
+     *                      field is not an enum
+     * @param enumValues    the constants of the field's enum type by ordinal, or null if the
+     *                      field is not an enum
+     */
+    private record Slot(String name, Kind kind, MethodHandle getter, MethodHandle setter,
+                        Map<String, Object> enumConstants, Object[] enumValues) {
+    }
+
+    private static final MethodType INT_GETTER = MethodType.methodType(int.class, Object.class);
+    private static final MethodType INT_SETTER = MethodType.methodType(void.class, Object.class, int.class);
+    private static final MethodType OBJECT_GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType OBJECT_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * The codec of each class, created on first use.
+     */
+    private static final ClassValue<MappableCodec> CODECS = new ClassValue<>() {
+        @Override
+        protected MappableCodec computeValue(Class<?> type) {
+            return new MappableCodec(type);
+        }
+    };
+
+    private final Slot[] slots;
+
+    /**
+     * The position of each slot by field name.
+     */
+    private final Map<String, Integer> slotPositions;
+
+    /**
+     * Creates an empty object of the class through its no-argument constructor, or null if
+     * the class has none.
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * Creates the codec of a class by looking up its fields.
+     *
+     * @param type the class
+     * @throws IllegalStateException if the fields of the class cannot be accessed
+     */
+    private MappableCodec(Class<?> type) {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Fields of " + type.getName() + " cannot be accessed", e);
+        }
+        List<Slot> slotList = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                continue;
+            }
+            VarHandle handle;
+            try {
+                handle = lookup.unreflectVarHandle(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Field " + field.getName() + " cannot be accessed", e);
+            }
+            slotList.add(createSlot(field, handle));
+        }
+        this.slots = slotList.toArray(new Slot[0]);
+        this.slotPositions = new HashMap<>();
+        for (int i = 0; i < slots.length; i++) {
+            slotPositions.put(slots[i].name(), i);
+        }
+        MethodHandle noArgumentConstructor;
+        try {
+            noArgumentConstructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            noArgumentConstructor = null;
+        }
+        this.constructor = noArgumentConstructor;
+    }
+
+    /**
+     * Creates the slot of one field.
+     *
+     * @param field  the field
+     * @param handle the handle that reads and writes the field
+     * @return the slot
+     */
+    private static Slot createSlot(Field field, VarHandle handle) {
+        Class<?> fieldType = field.getType();
+        MethodHandle getter = handle.toMethodHandle(VarHandle.AccessMode.GET);
+        MethodHandle setter = handle.toMethodHandle(VarHandle.AccessMode.SET);
+        if (fieldType == Integer.TYPE) {
+            return new Slot(field.getName(), Kind.INT, getter.asType(INT_GETTER), setter.asType(INT_SETTER),
+                    null, null);
+        }
+        getter = getter.asType(OBJECT_GETTER);
+        setter = setter.asType(OBJECT_SETTER);
+        if (fieldType == String.class) {
+            return new Slot(field.getName(), Kind.STRING, getter, setter, null, null);
+        } else if (fieldType == Integer.class) {
+            return new Slot(field.getName(), Kind.INTEGER, getter, setter, null, null);
+        } else if (fieldType.isEnum()) {
+            Object[] enumValues = fieldType.getEnumConstants();
+            Map<String, Object> enumConstants = new HashMap<>();
+            for (Object constant : enumValues) {
+                enumConstants.put(((Enum<?>) constant).name(), constant);
+            }
+            return new Slot(field.getName(), Kind.ENUM, getter, setter, enumConstants, enumValues);
+        } else if (fieldType.isAssignableFrom(String.class)) {
+            return new Slot(field.getName(), Kind.OTHER, getter, setter, null, null);
+        }
+        MethodHandle parser = findParser(fieldType);
+        if (parser != null) {
+            MethodHandle parsingSetter = MethodHandles.filterArguments(
+                    handle.toMethodHandle(VarHandle.AccessMode.SET)
+                            .asType(MethodType.methodType(void.class, Object.class, fieldType)),
+                    1, parser.asType(MethodType.methodType(fieldType, Object.class)));
+            return new Slot(field.getName(), Kind.PARSED, getter, parsingSetter.asType(OBJECT_SETTER), null, null);
+        }
+        return new Slot(field.getName(), Kind.OTHER, getter, null, null, null);
+    }
+
+    /**
+     * Finds the {@code public static valueOf(String)} method of a value type.
+     *
+     * @param fieldType the value type
+     * @return the method, or null if the type has none
+     */
+    private static MethodHandle findParser(Class<?> fieldType) {
+        try {
+            return MethodHandles.publicLookup()
+                    .findStatic(fieldType, "valueOf", MethodType.methodType(fieldType, String.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the codec of a class, creating it on first use.
+     *
+     * @param type the class
+     * @return the codec of the class
+     */
+    public static MappableCodec of(Class<?> type) {
+        return CODECS.get(type);
+    }
+
+    /**
+     * Converts an object to a map from field name to value.
+     *
+     * @param object the object to convert
+     * @return the key-value representation of the object
+     */
+    public Map<String, String> toMap(Object object) {
+        Map<String, String> map = new HashMap<>(slots.length * 4 / 3 + 1);
+        for (Slot slot : slots) {
+            map.put(slot.name(), read(slot, object));
+        }
+        return map;
+    }
+
+    /**
+     * Appends the String representation of an object to a buffer, in the format of
+     * {@link StringAndMapConvertor#mapToString(Map)}, without building a map.
+     *
+     * @param object        the object to convert
+     * @param stringBuilder the buffer to append to
+     */
+    public void encode(Object object, StringBuilder stringBuilder) {
+        for (int i = 0; i < slots.length; i++) {
+            if (i > 0) {
+                stringBuilder.append(SEPARATOR_STRING);
+            }
+            stringBuilder.append(slots[i].name()).append(DELIMITER_STRING);
+            if (slots[i].kind() == Kind.INT) {
+                stringBuilder.append(getInt(slots[i], object));
+            } else {
+                stringBuilder.append(read(slots[i], object));
+            }
+        }
+    }
+
+    /**
+     * Sets the fields of an object from a map from field name to value. An int field with
+     * an empty value is set to 0.
+     *
+     * @param object the object to populate
+     * @param map    the key-value representation of the object
+     * @throws IllegalArgumentException if an enum field holds an unknown constant
+     */
+    public void fromMap(Object object, Map<String, String> map) {
+        for (Slot slot : slots) {
+            write(slot, object, map.get(slot.name()));
+        }
+    }
+
+    /**
+     * Creates an object from its String representation, in the format of
+     * {@link StringAndMapConvertor#mapToString(Map)}, without building a map. Each decoded
+     * value is written straight to the slot of its field; as with {@link #fromMap(Object, Map)},
+     * a field missing from the representation is written as missing.
+     *
+     * @param string the String representation of the object
+     * @return the new object
+     * @throws IllegalArgumentException if the representation is malformed, or an enum field
+     *                                  holds an unknown constant
+     * @throws IllegalStateException    if the class has no no-argument constructor
+     */
+    public Object decode(String string) {
+        FieldDecoder decoder = new FieldDecoder(newInstance());
+        StringAndMapConvertor.decode(string, decoder);
+        for (int i = 0; i < slots.length; i++) {
+            if (!decoder.written[i]) {
+                write(slots[i], decoder.object, null);
+            }
+        }
+        return decoder.object;
+    }
+
+    /**
+     * Writes the decoded key-value pairs of one object to the slots of its fields. As the
+     * pairs are written in slot order, the slot after the last one written is tried before
+     * looking the key up.
+     */
+    private final class FieldDecoder implements StringAndMapConvertor.FieldSink {
+
+        private final Object object;
+
+        private final boolean[] written = new boolean[slots.length];
+
+        private int nextPosition = 0;
+
+        FieldDecoder(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public void accept(String key, String value) {
+            int position = nextPosition < slots.length && slots[nextPosition].name().equals(key)
+                    ? nextPosition : position(key);
+            if (position >= 0) {
+                write(slots[position], object, value);
+                written[position] = true;
+                nextPosition = position + 1;
+            }
+        }
+    }
+
+    /**
+     * Reads a field by name, as it appears in the key-value representation.
+     *
+     * @param name   the name of the field
+     * @param object the object to read from
+     * @return the value of the field
+     * @throws IllegalArgumentException if the class has no field with that name
+     */
+    public String getField(String name, Object object) {
+        int position = position(name);
+        if (position < 0) {
+            throw new IllegalArgumentException("No field " + name + " in " + object.getClass().getName());
+        }
+        return read(slots[position], object);
+    }
+
+    /**
+     * Checks whether the representation has a field with the given name.
+     *
+     * @param name the name of the field
+     * @return true if the field is in the representation, false otherwise
+     */
+    public boolean hasField(String name) {
+        return position(name) >= 0;
+    }
+
+    /**
+     * Gets the number of fields in the representation.
+     *
+     * @return the number of fields
+     */
+    int size() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the name of a field.
+     *
+     * @param position the position of the field
+     * @return the name of the field
+     */
+    String name(int position) {
+        return slots[position].name();
+    }
+
+    /**
+     * Gets the kind of a field.
+     *
+     * @param position the position of the field
+     * @return the kind of the field
+     */
+    Kind kind(int position) {
+        return slots[position].kind();
+    }
+
+    /**
+     * Gets the position of a field by name.
+     *
+     * @param name the name of the field
+     * @return the position of the field, or -1 if the class has no such field
+     */
+    int position(String name) {
+        Integer position = slotPositions.get(name);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Gets the constants of an enum field's type, in ordinal order.
+     *
+     * @param position the position of the field
+     * @return the constants of the enum type
+     */
+    Object[] enumValues(int position) {
+        return slots[position].enumValues();
+    }
+
+    /**
+     * Gets the constant of an enum field's type with the given name.
+     *
+     * @param position the position of the field
+     * @param name     the name of the constant
+     * @return the constant, or null if there is none with that name
+     */
+    Object enumConstant(int position, String name) {
+        return slots[position].enumConstants().get(name);
+    }
+
+    /**
+     * Reads a field that is not an int.
+     *
+     * @param position the position of the field
+     * @param object   the object to read from
+     * @return the value of the field
+     */
+    Object get(int position, Object object) {
+        return get(slots[position], object);
+    }
+
+    /**
+     * Reads an int field.
+     *
+     * @param position the position of the field
+     * @param object   the object to read from
+     * @return the value of the field
+     */
+    int getInt(int position, Object object) {
+        return getInt(slots[position], object);
+    }
+
+    /**
+     * Reads a field as it appears in the key-value representation.
+     *
+     * @param position the position of the field
+     * @param object   the object to read from
+     * @return the value of the field
+     */
+    String getString(int position, Object object) {
+        return read(slots[position], object);
+    }
+
+    /**
+     * Writes a field that is not an int.
+     *
+     * @param position the position of the field
+     * @param object   the object to write to
+     * @param value    the value to write
+     */
+    void set(int position, Object object, Object value) {
+        set(slots[position], object, value);
+    }
+
+    /**
+     * Writes an int field.
+     *
+     * @param position the position of the field
+     * @param object   the object to write to
+     * @param value    the value to write
+     */
+    void setInt(int position, Object object, int value) {
+        setInt(slots[position], object, value);
+    }
+
+    /**
+     * Writes a field from its value in the key-value representation.
+     *
+     * @param position the position of the field
+     * @param object   the object to write to
+     * @param value    the value of the field
+     */
+    void setString(int position, Object object, String value) {
+        write(slots[position], object, value);
+    }
+
+    /**
+     * Creates an empty object of the class through its no-argument constructor.
+     *
+     * @return the new object
+     * @throws IllegalStateException if the class has no no-argument constructor
+     */
+    Object newInstance() {
+        if (constructor == null) {
+            throw new IllegalStateException("No constructor without arguments to create objects from");
+        }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Object could not be created", e);
+        }
+    }
+
+    /**
+     * Reads one field as a String. A null field is read as {@link EmptyID#EMPTY_ID}.
+     *
+     * @param slot   the slot of the field
+     * @param object the object to read from
+     * @return the value of the field
+     */
+    private static String read(Slot slot, Object object) {
+        if (slot.kind() == Kind.INT) {
+            return Integer.toString(getInt(slot, object));
+        }
+        Object value = get(slot, object);
+        if (value == null) {
+            return EmptyID.EMPTY_ID;
+        }
+        return slot.kind() == Kind.ENUM ? ((Enum<?>) value).name() : value.toString();
+    }
+
+    /**
+     * Writes one field from a String.
+     *
+     * @param slot   the slot of the field
+     * @param object the object to write to
+     * @param value  the value of the field, or null if it is missing
+     */
+    private static void write(Slot slot, Object object, String value) {
+        switch (slot.kind()) {
+            case STRING -> set(slot, object, value);
+            case INT -> setInt(slot, object, parseInt(slot, value));
+            case INTEGER -> set(slot, object, parseInt(slot, value));
+            case ENUM -> {
+                if (value == null) {
+                    return;
+                }
+                Object constant = slot.enumConstants().get(value);
+                if (constant == null) {
+                    throw new IllegalArgumentException("No constant " + value + " for field " + slot.name());
+                }
+                set(slot, object, constant);
+            }
+            case OTHER -> {
+                if (slot.setter() != null) {
+                    set(slot, object, value);
+                }
+            }
+            case PARSED -> set(slot, object, value);
+        }
+    }
+
+    /**
+     * Reads a field that is not an int.
+     *
+     * @param slot   the slot of the field
+     * @param object the object to read from
+     * @return the value of the field
+     */
+    private static Object get(Slot slot, Object object) {
+        try {
+            return (Object) slot.getter().invokeExact(object);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Field " + slot.name() + " could not be read", e);
+        }
+    }
+
+    /**
+     * Reads an int field.
+     *
+     * @param slot   the slot of the field
+     * @param object the object to read from
+     * @return the value of the field
+     */
+    private static int getInt(Slot slot, Object object) {
+        try {
+            return (int) slot.getter().invokeExact(object);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Field " + slot.name() + " could not be read", e);
+        }
+    }
+
+    /**
+     * Writes a field that is not an int.
+     *
+     * @param slot   the slot of the field
+     * @param object the object to write to
+     * @param value  the value to write
+     */
+    private static void set(Slot slot, Object object, Object value) {
+        try {
+            slot.setter().invokeExact(object, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Field " + slot.name() + " could not be written", e);
+        }
+    }
+
+    /**
+     * Writes an int field.
+     *
+     * @param slot   the slot of the field
+     * @param object the object to write to
+     * @param value  the value to write
+     */
+    private static void setInt(Slot slot, Object object, int value) {
+        try {
+            slot.setter().invokeExact(object, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Field " + slot.name() + " could not be written", e);
+        }
+    }
+
+    /**
+     * Parses the value of an int field, treating an empty value as 0.
+     *
+     * @param slot  the slot of the field
+     * @param value the value to parse
+     * @return the parsed value, or 0 if the value is empty or not a number
+     */
+    private static int parseInt(Slot slot, String value) {
+        if (EmptyID.isEmptyID(value)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number " + value + " for field " + slot.name());
+            return 0;
+        }
+    }
+}
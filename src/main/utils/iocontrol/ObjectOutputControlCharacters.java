@@ -14,4 +14,9 @@ public record ObjectOutputControlCharacters() {
      * The character to be used to separate features of an object.
      */
     public static final String SEPARATOR_STRING = "\u001A\u001A\u001A";
+
+    /**
+     * The character to be used to separate the changes of a transaction in the journal.
+     */
+    public static final String RECORD_SEPARATOR_STRING = "\u001E\u001E\u001E";
 }
@@ -0,0 +1,116 @@
+package main.utils.iocontrol;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * The ParallelTextLoader class loads a large text data file by memory-mapping it, splitting
+ * it into chunks at line boundaries and decoding the chunks in parallel on the common
+ * fork-join pool. Each line is handed to a decoder, and the decoded records are returned in
+ * file order.
+ */
+public final class ParallelTextLoader {
+
+    /**
+     * The number of chunks per worker thread, so that uneven chunks still keep every
+     * worker busy.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private ParallelTextLoader() {
+    }
+
+    /**
+     * Loads every record of a text data file.
+     *
+     * @param path    the path of the data file, which must be smaller than 2 GB
+     * @param decoder decodes one line of the file; called from several threads at once
+     * @param <T>     the type of the decoded records
+     * @return the decoded records, in file order
+     * @throws IOException              if the file could not be read
+     * @throws IllegalArgumentException if a record is malformed
+     */
+    public static <T> List<T> load(Path path, Function<String, T> decoder) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int size = buffer.limit();
+        int chunkCount = Math.max(1, ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_WORKER);
+        int chunkSize = Math.max(1, size / chunkCount);
+
+        List<ChunkTask<T>> tasks = new ArrayList<>(chunkCount);
+        int start = 0;
+        while (start < size) {
+            int end = Math.min(size, start + chunkSize);
+            while (end < size && buffer.get(end - 1) != '\n') {
+                end++;
+            }
+            tasks.add(new ChunkTask<>(buffer.slice(start, end - start), decoder));
+            start = end;
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        List<T> records = new ArrayList<>();
+        for (ChunkTask<T> task : tasks) {
+            records.addAll(task.join());
+        }
+        return records;
+    }
+
+    /**
+     * Decodes the records of one chunk. Every chunk but the last ends with a line break.
+     */
+    private static final class ChunkTask<T> extends RecursiveTask<List<T>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MappedByteBuffer chunk;
+
+        private final Function<String, T> decoder;
+
+        ChunkTask(MappedByteBuffer chunk, Function<String, T> decoder) {
+            this.chunk = chunk;
+            this.decoder = decoder;
+        }
+
+        @Override
+        protected List<T> compute() {
+            CharBuffer characters;
+            try {
+                characters = Charset.defaultCharset().newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                        .decode(chunk);
+            } catch (CharacterCodingException e) {
+                throw new IllegalArgumentException("Data file is not valid text", e);
+            }
+            String text = characters.toString();
+            List<T> records = new ArrayList<>();
+            int lineStart = 0;
+            while (lineStart < text.length()) {
+                int lineEnd = text.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = text.length();
+                }
+                int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                records.add(decoder.apply(text.substring(lineStart, contentEnd)));
+                lineStart = lineEnd + 1;
+            }
+            return records;
+        }
+    }
+}
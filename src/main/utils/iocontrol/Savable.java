@@ -1,9 +1,16 @@
 package main.utils.iocontrol;
 
+import main.utils.config.StorageConfig;
+import main.utils.config.StorageFormat;
+
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An abstract class for managing objects that can be mapped to and from
@@ -14,6 +21,11 @@ import java.util.Map;
  */
 public abstract class Savable<MappableObject extends Mappable> {
 
+    /**
+     * The log of changes made since the file was last saved in full.
+     */
+    private AppendOnlyLog appendOnlyLog;
+
     /**
      * Gets the list of mappable objects.
      *
@@ -28,6 +40,27 @@ public abstract class Savable<MappableObject extends Mappable> {
      */
     protected abstract void setAll(List<Map<String, String>> listOfMappableObjects);
 
+    /**
+     * Gets the class of the mappable objects, used to create them from a binary data file.
+     *
+     * @return the class of the mappable objects
+     */
+    protected abstract Class<MappableObject> getMappableClass();
+
+    /**
+     * Gets the path of the data file in a storage format. The path of a binary data file is
+     * the path of the text data file with {@code .bin} in place of {@code .txt}.
+     *
+     * @param FILE_PATH the path of the text data file
+     * @param format    the storage format
+     * @return the path of the data file in the storage format
+     */
+    public static String getDataFilePath(final String FILE_PATH, StorageFormat format) {
+        if (format == StorageFormat.TEXT) {
+            return FILE_PATH;
+        }
+        return (FILE_PATH.endsWith(".txt") ? FILE_PATH.substring(0, FILE_PATH.length() - 4) : FILE_PATH) + ".bin";
+    }
     /**
      * Saves the list of mappable objects to a file.
      *
@@ -35,24 +68,195 @@ public abstract class Savable<MappableObject extends Mappable> {
      * @throws RuntimeException if the data could not be saved to the file
      */
     protected void save(final String FILE_PATH) {
-        try (PrintWriter printWriter = new PrintWriter(new FileWriter(FILE_PATH))) {
-            final List<MappableObject> listOfMappableObjects = getAll();
-            for (MappableObject mappableObject : listOfMappableObjects) {
-                printWriter.println(StringAndMapConvertor.mapToString(mappableObject.toMap()));
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Data could not be saved to file: " + FILE_PATH);
+        TransactionJournal.runAfterCheckpoint(() -> getLog(FILE_PATH).compactNow(encodeAll()));
+    }
+
+    /**
+     * Saves the list of mappable objects to a file as part of committing a transaction,
+     * while the {@link TransactionJournal} still holds the transaction.
+     *
+     * @param FILE_PATH the path of the file to save to
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    protected void saveCommitted(final String FILE_PATH) {
+        getLog(FILE_PATH).compactNow(encodeAll());
+    }
+
+    /**
+     * Creates the journal entry that adds or updates a mappable object as part of a
+     * transaction.
+     *
+     * @param FILE_PATH      the path of the file the mappable object belongs to
+     * @param key            the key that identifies the mappable object
+     * @param mappableObject the mappable object that is added or updated
+     * @return the journal entry
+     */
+    protected TransactionJournal.Entry journalPut(final String FILE_PATH, String key, MappableObject mappableObject) {
+        return new TransactionJournal.Entry(getLog(FILE_PATH), getDataFilePath(FILE_PATH, StorageConfig.STORAGE_FORMAT),
+                key, AppendOnlyLog.encodePut(key, mappableObject.toMap()));
+    }
+
+    /**
+     * Creates the journal entry that removes a mappable object as part of a transaction.
+     *
+     * @param FILE_PATH the path of the file the mappable object belongs to
+     * @param key       the key that identifies the mappable object
+     * @return the journal entry
+     */
+    protected TransactionJournal.Entry journalDelete(final String FILE_PATH, String key) {
+        return new TransactionJournal.Entry(getLog(FILE_PATH), getDataFilePath(FILE_PATH, StorageConfig.STORAGE_FORMAT),
+                key, AppendOnlyLog.encodeDelete(key));
+    }
+
+    /**
+     * Saves a single added or updated mappable object. In append-only log mode only one
+     * record is appended to the log; otherwise the whole file is saved.
+     *
+     * @param FILE_PATH      the path of the file to save to
+     * @param key            the key that identifies the mappable object
+     * @param mappableObject the mappable object that was added or updated
+     * @throws RuntimeException if the data could not be saved
+     */
+    protected void savePut(final String FILE_PATH, String key, MappableObject mappableObject) {
+        if (!StorageConfig.APPEND_ONLY_LOG) {
+            save(FILE_PATH);
+            return;
         }
+        AppendOnlyLog log = getLog(FILE_PATH);
+        log.appendPut(key, mappableObject.toMap());
+        compactIfNeeded(log);
     }
 
     /**
-     * Loads the list of mappable objects from a file.
+     * Saves the removal of a single mappable object. In append-only log mode only one
+     * record is appended to the log; otherwise the whole file is saved.
+     *
+     * @param FILE_PATH the path of the file to save to
+     * @param key       the key that identifies the removed mappable object
+     * @throws RuntimeException if the data could not be saved
+     */
+    protected void saveDelete(final String FILE_PATH, String key) {
+        if (!StorageConfig.APPEND_ONLY_LOG) {
+            save(FILE_PATH);
+            return;
+        }
+        AppendOnlyLog log = getLog(FILE_PATH);
+        log.appendDelete(key);
+        compactIfNeeded(log);
+    }
+
+    /**
+     * Saves the file in full if the log holds any change that is not yet part of it.
+     *
+     * @param FILE_PATH the path of the file to save to
+     * @throws RuntimeException if the data could not be saved
+     */
+    protected void checkpoint(final String FILE_PATH) {
+        if (!getLog(FILE_PATH).isEmpty()) {
+            save(FILE_PATH);
+        }
+    }
+
+    /**
+     * Forces every change made so far to disk, writing the changes the log still holds in
+     * memory. Outside append-only log mode every change is already saved.
+     *
+     * @param FILE_PATH the path of the file the log belongs to
+     * @throws RuntimeException if the changes could not be written
+     */
+    protected void flushLog(final String FILE_PATH) {
+        if (StorageConfig.APPEND_ONLY_LOG) {
+            getLog(FILE_PATH).flush();
+        }
+    }
+
+    /**
+     * Loads the changes recorded in the log since the file was last saved in full. They
+     * are to be replayed in order on top of the objects loaded from the file.
+     *
+     * @param FILE_PATH the path of the file the log belongs to
+     * @return the list of logged changes, oldest first
+     * @throws RuntimeException if the log could not be loaded
+     */
+    protected List<AppendOnlyLog.Record> loadLog(final String FILE_PATH) {
+        return getLog(FILE_PATH).read();
+    }
+
+    /**
+     * Gets the log that belongs to the file, creating it on first use.
+     *
+     * @param FILE_PATH the path of the file
+     * @return the log of the file
+     */
+    private AppendOnlyLog getLog(final String FILE_PATH) {
+        if (appendOnlyLog == null) {
+            appendOnlyLog = new AppendOnlyLog(getDataFilePath(FILE_PATH, StorageConfig.STORAGE_FORMAT));
+        }
+        return appendOnlyLog;
+    }
+
+    /**
+     * Starts a background compaction of the log once it has grown past the threshold.
+     *
+     * @param log the log to check
+     */
+    private void compactIfNeeded(AppendOnlyLog log) {
+        if (log.needsCompaction(StorageConfig.COMPACTION_THRESHOLD)) {
+            TransactionJournal.runAfterCheckpoint(() -> log.compactInBackground(encodeAll()));
+        }
+    }
+
+    /**
+     * Converts every mappable object to the content of the data file in the configured
+     * storage format. In text format each object is one line, all appended to one buffer.
+     *
+     * @return the content of the file
+     */
+    private byte[] encodeAll() {
+        final List<MappableObject> listOfMappableObjects = getAll();
+        if (StorageConfig.STORAGE_FORMAT == StorageFormat.BINARY) {
+            return BinaryRecordFormat.write(getMappableClass(), listOfMappableObjects);
+        }
+        StringBuilder stringBuilder = new StringBuilder(listOfMappableObjects.size() * 256);
+        String lineSeparator = System.lineSeparator();
+        for (MappableObject mappableObject : listOfMappableObjects) {
+            mappableObject.encode(stringBuilder);
+            stringBuilder.append(lineSeparator);
+        }
+        return stringBuilder.toString().getBytes(Charset.defaultCharset());
+    }
+
+    /**
+     * Loads the list of mappable objects from a file. A text file of at least
+     * {@link StorageConfig#PARALLEL_LOAD_THRESHOLD_BYTES} is decoded in parallel by the
+     * {@link ParallelTextLoader} when more than one core is available.
      *
      * @param FILE_PATH the path of the file to load from
      * @throws RuntimeException if the data could not be loaded from the file
      */
     protected void load(final String FILE_PATH) {
-        List<Map<String, String>> listOfMappableObjects = new ArrayList<>();
+        String binaryFilePath = getDataFilePath(FILE_PATH, StorageFormat.BINARY);
+        boolean textFileExists = new File(FILE_PATH).exists();
+        boolean binaryFileExists = new File(binaryFilePath).exists();
+        if (binaryFileExists && (StorageConfig.STORAGE_FORMAT == StorageFormat.BINARY || !textFileExists)) {
+            try {
+                getAll().addAll(BinaryRecordFormat.read(getMappableClass(), Files.readAllBytes(Path.of(binaryFilePath))));
+            } catch (IOException | IllegalArgumentException e) {
+                throw new RuntimeException("Data could not be loaded from file: " + binaryFilePath);
+            }
+            return;
+        }
+        long textFileSize = textFileExists ? new File(FILE_PATH).length() : 0;
+        if (textFileSize >= StorageConfig.PARALLEL_LOAD_THRESHOLD_BYTES && textFileSize < Integer.MAX_VALUE
+                && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            try {
+                getAll().addAll(ParallelTextLoader.load(Path.of(FILE_PATH), this::decode));
+            } catch (IOException e) {
+                throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+            }
+            return;
+        }
+        List<MappableObject> listOfMappableObjects = new ArrayList<>();
         BufferedReader bufferedReader;
         try {
             bufferedReader = new BufferedReader(new FileReader(FILE_PATH));
@@ -72,11 +276,24 @@ public abstract class Savable<MappableObject extends Mappable> {
         String line;
         try {
             while ((line = bufferedReader.readLine()) != null) {
-                listOfMappableObjects.add(StringAndMapConvertor.stringToMap(line));
+                listOfMappableObjects.add(decode(line));
             }
         } catch (IOException e) {
             throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
         }
-        setAll(listOfMappableObjects);
+        getAll().addAll(listOfMappableObjects);
+    }
+
+    /**
+     * Creates a mappable object from its String representation through the
+     * {@link MappableCodec} of its class, without building a map.
+     *
+     * @param string the String representation of the mappable object
+     * @return the mappable object
+     * @throws IllegalArgumentException if the representation is malformed
+     */
+    protected MappableObject decode(String string) {
+        Class<MappableObject> mappableClass = getMappableClass();
+        return mappableClass.cast(MappableCodec.of(mappableClass).decode(string));
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package main.utils.iocontrol;
+
+import main.utils.config.StorageFormat;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The StorageFormatConverter class converts data files between the text and binary
+ * storage formats. The file in the original format is left in place.
+ * <p>
+ * It can be run on its own, for example:
+ *
+ * <pre>
+ * java main.utils.iocontrol.StorageFormatConverter binary main.model.user.Student ./data/user/student.txt
+ * </pre>
+ * <p>
+ * This writes {@code ./data/user/student.bin} from {@code ./data/user/student.txt}.
+ */
+public final class StorageFormatConverter {
+
+    private StorageFormatConverter() {
+    }
+
+    /**
+     * Converts a text data file to a binary data file next to it.
+     *
+     * @param type      the class of the objects in the file
+     * @param FILE_PATH the path of the text data file
+     * @param <T>       the class of the objects in the file
+     * @return the number of objects converted
+     * @throws RuntimeException if the file could not be converted
+     */
+    public static <T extends Mappable> int toBinary(Class<T> type, final String FILE_PATH) {
+        MappableCodec codec = MappableCodec.of(type);
+        List<T> objects = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(Path.of(FILE_PATH), Charset.defaultCharset())) {
+                objects.add(type.cast(codec.decode(line)));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+        }
+        String binaryFilePath = Savable.getDataFilePath(FILE_PATH, StorageFormat.BINARY);
+        AppendOnlyLog.writeSnapshot(Path.of(binaryFilePath), BinaryRecordFormat.write(type, objects));
+        return objects.size();
+    }
+
+    /**
+     * Converts the binary data file next to a text data file back to the text data file.
+     *
+     * @param type      the class of the objects in the file
+     * @param FILE_PATH the path of the text data file
+     * @param <T>       the class of the objects in the file
+     * @return the number of objects converted
+     * @throws RuntimeException if the file could not be converted
+     */
+    public static <T extends Mappable> int toText(Class<T> type, final String FILE_PATH) {
+        String binaryFilePath = Savable.getDataFilePath(FILE_PATH, StorageFormat.BINARY);
+        List<T> objects;
+        try {
+            objects = BinaryRecordFormat.read(type, Files.readAllBytes(Path.of(binaryFilePath)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + binaryFilePath);
+        }
+        StringBuilder stringBuilder = new StringBuilder(objects.size() * 256);
+        for (T object : objects) {
+            object.encode(stringBuilder);
+            stringBuilder.append(System.lineSeparator());
+        }
+        AppendOnlyLog.writeSnapshot(Path.of(FILE_PATH), stringBuilder.toString().getBytes(Charset.defaultCharset()));
+        return objects.size();
+    }
+
+    /**
+     * Converts data files from the command line.
+     *
+     * @param args the target format ({@code binary} or {@code text}), the name of the class
+     *             of the objects, then the paths of one or more text data files
+     * @throws ClassNotFoundException if the class cannot be found
+     */
+    public static void main(String[] args) throws ClassNotFoundException {
+        if (args.length < 3) {
+            System.out.println("Usage: StorageFormatConverter binary|text <class name> <text data file>...");
+            return;
+        }
+        Class<? extends Mappable> type = Class.forName(args[1]).asSubclass(Mappable.class);
+        for (int i = 2; i < args.length; i++) {
+            int count = args[0].equalsIgnoreCase("binary") ? toBinary(type, args[i]) : toText(type, args[i]);
+            System.out.println("Converted " + count + " records of " + args[i]);
+        }
+    }
+}
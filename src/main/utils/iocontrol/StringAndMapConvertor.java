@@ -1,6 +1,8 @@
 package main.utils.iocontrol;
 
-import java.util.*;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import static main.utils.iocontrol.ObjectOutputControlCharacters.DELIMITER_STRING;
 import static main.utils.iocontrol.ObjectOutputControlCharacters.SEPARATOR_STRING;
@@ -9,9 +11,32 @@ import static main.utils.iocontrol.ObjectOutputControlCharacters.SEPARATOR_STRIN
  * The StringAndMapConvertor class provides methods to convert a String
  * representation of a map to a Map object,
  * and vice versa.
+ * <p>
+ * Decoding scans the string with {@link String#indexOf(String, int)} rather than splitting
+ * it, and can hand each key-value pair straight to a {@link FieldSink} instead of building
+ * a map, as {@link MappableCodec#decode(String)} does to load objects. Encoding appends to a caller-supplied buffer, so one buffer can be reused for a
+ * whole file.
  */
 public class StringAndMapConvertor {
 
+    /**
+     * Receives the key-value pairs decoded from a String representation of a map.
+     */
+    public interface FieldSink {
+        /**
+         * Accepts one decoded key-value pair.
+         *
+         * @param key   the key
+         * @param value the value
+         */
+        void accept(String key, String value);
+    }
+
+    /**
+     * The expected number of key-value pairs in a record, used to size decoded maps.
+     */
+    private static final int EXPECTED_PAIRS = 12;
+
     /**
      * Converts a String representation of a map to a Map object.
      *
@@ -22,17 +47,76 @@ public class StringAndMapConvertor {
      *                                  key-value pairs.
      */
     public static Map<String, String> stringToMap(String string) {
-        Map<String, String> map = new HashMap<>();
-        String[] pairs = string.split(SEPARATOR_STRING);
-        for (String pair : pairs) {
-            String[] keyValue = pair.split(DELIMITER_STRING);
-            if (keyValue.length != 2) {
+        Map<String, String> map = new HashMap<>(EXPECTED_PAIRS * 4 / 3 + 1);
+        decode(string, map::put);
+        return map;
+    }
+
+    /**
+     * Decodes a String representation of a map, handing each key-value pair to a sink in
+     * the order they appear.
+     *
+     * @param string The String representation of the map.
+     * @param sink   The sink that receives each key-value pair.
+     * @throws IllegalArgumentException if the input string contains invalid
+     *                                  key-value pairs.
+     */
+    public static void decode(String string, FieldSink sink) {
+        scan(string, sink);
+    }
+
+    /**
+     * Checks whether a string is a well-formed String representation of a map, without
+     * decoding its values.
+     *
+     * @param string The string to check.
+     * @return true if every key-value pair of the string is well-formed, false otherwise
+     */
+    public static boolean isWellFormed(String string) {
+        try {
+            scan(string, null);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Scans a String representation of a map, handing each key-value pair to a sink.
+     *
+     * @param string The String representation of the map.
+     * @param sink   The sink that receives each key-value pair, or null to only check
+     *               the pairs.
+     * @throws IllegalArgumentException if the input string contains invalid
+     *                                  key-value pairs.
+     */
+    private static void scan(String string, FieldSink sink) {
+        int length = string.length();
+        int start = 0;
+        while (true) {
+            int end = string.indexOf(SEPARATOR_STRING, start);
+            if (end < 0) {
+                end = length;
+            }
+            int delimiter = string.indexOf(DELIMITER_STRING, start);
+            int valueStart = delimiter + DELIMITER_STRING.length();
+            if (delimiter < 0 || delimiter >= end) {
+                throw new IllegalArgumentException(
+                        "Invalid key-value pair: " + string.substring(start, end) + " in string: " + string);
+            }
+            int extraDelimiter = string.indexOf(DELIMITER_STRING, valueStart);
+            if (extraDelimiter >= 0 && extraDelimiter < end) {
                 throw new IllegalArgumentException(
-                        "Invalid key-value pair: " + pair + " in string: " + Arrays.toString(keyValue));
+                        "Invalid key-value pair: " + string.substring(start, end) + " in string: " + string);
+            }
+            if (sink != null) {
+                sink.accept(string.substring(start, delimiter), string.substring(valueStart, end));
+            }
+            start = end + SEPARATOR_STRING.length();
+            if (start >= length) {
+                return;
             }
-            map.put(keyValue[0], keyValue[1]);
         }
-        return map;
     }
 
     /**
@@ -42,10 +126,40 @@ public class StringAndMapConvertor {
      * @return A String representation of the map.
      */
     public static String mapToString(Map<String, String> map) {
-        List<String> pairs = new ArrayList<>();
+        StringBuilder stringBuilder = new StringBuilder(map.size() * 24);
+        encode(map, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Appends the String representation of a map to a buffer.
+     *
+     * @param map           The Map object to convert.
+     * @param stringBuilder The buffer to append to.
+     */
+    public static void encode(Map<String, String> map, StringBuilder stringBuilder) {
+        try {
+            encode(map, (Appendable) stringBuilder);
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be encoded", e);
+        }
+    }
+
+    /**
+     * Writes the String representation of a map to an output, such as a Writer.
+     *
+     * @param map        The Map object to convert.
+     * @param appendable The output to write to.
+     * @throws IOException if the output could not be written to.
+     */
+    public static void encode(Map<String, String> map, Appendable appendable) throws IOException {
+        boolean first = true;
         for (Map.Entry<String, String> entry : map.entrySet()) {
-            pairs.add(entry.getKey() + DELIMITER_STRING + entry.getValue());
+            if (!first) {
+                appendable.append(SEPARATOR_STRING);
+            }
+            appendable.append(entry.getKey()).append(DELIMITER_STRING).append(entry.getValue());
+            first = false;
         }
-        return String.join(SEPARATOR_STRING, pairs);
     }
 }
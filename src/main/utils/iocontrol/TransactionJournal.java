@@ -0,0 +1,457 @@
+package main.utils.iocontrol;
+
+import main.utils.config.DurabilityPolicy;
+import main.utils.config.StorageConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static main.utils.config.Location.RESOURCE_LOCATION;
+import static main.utils.iocontrol.ObjectOutputControlCharacters.DELIMITER_STRING;
+import static main.utils.iocontrol.ObjectOutputControlCharacters.RECORD_SEPARATOR_STRING;
+
+/**
+ * A journal that makes changes spanning several data files atomic.
+ * <p>
+ * A transaction is committed by appending one line, holding every change of the
+ * transaction, to the journal and forcing it to disk. Only then are the changes applied and
+ * handed to the logs of their data files, which write them in the background. If the process
+ * stops before they reach those logs, {@link #recover()} copies them over on the next start.
+ * <p>
+ * Unless the {@link StorageConfig#DURABILITY_POLICY} is {@link DurabilityPolicy#SYNC},
+ * transactions committed within {@link StorageConfig#GROUP_COMMIT_WINDOW_MILLIS} of each
+ * other are written by a background flusher with a single forced write to a journal file that
+ * is kept open, and each committer waits until its batch is on disk and applied.
+ * A checkpoint forces the logs to disk and empties the journal; one is taken before any
+ * data file is saved in full, so a journal entry is never older than a saved data file.
+ */
+public class TransactionJournal {
+
+    /**
+     * One change of a transaction.
+     *
+     * @param log      the log of the data file that the change belongs to
+     * @param filePath the path of the data file that the change belongs to
+     * @param key      the key of the changed object
+     * @param line     the encoded log record of the change
+     */
+    public record Entry(AppendOnlyLog log, String filePath, String key, String line) {
+    }
+
+    /**
+     * The file path of the journal.
+     */
+    private static final String FILE_PATH = "/data/transaction.log";
+
+    /**
+     * The marker that starts every committed transaction in the journal.
+     */
+    private static final String COMMIT = "COMMIT";
+
+    /**
+     * The worker that writes batches of transactions to the journal in the background.
+     */
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The transactions waiting to be written to the journal, in the order they were committed.
+     */
+    private static final List<PendingTransaction> PENDING_TRANSACTIONS = new ArrayList<>();
+
+    /**
+     * The logs that hold changes committed since the last checkpoint.
+     */
+    private static final Set<AppendOnlyLog> LOGS_TO_CHECKPOINT = new LinkedHashSet<>();
+
+    /**
+     * The number of transactions committed since the last checkpoint.
+     */
+    private static int transactionCount = 0;
+
+    /**
+     * Whether the journal has been recovered since the process started.
+     */
+    private static boolean recovered = false;
+
+    /**
+     * Whether the background flusher has a write of the journal scheduled.
+     */
+    private static boolean flushScheduled = false;
+
+    /**
+     * The open journal file, or null if it is not open.
+     */
+    private static FileChannel channel = null;
+
+    private TransactionJournal() {
+    }
+
+    /**
+     * Gets the path of the journal file.
+     *
+     * @return the path of the journal file
+     */
+    private static Path getPath() {
+        return Path.of(RESOURCE_LOCATION + FILE_PATH);
+    }
+
+    /**
+     * Commits a transaction. The changes are written to the journal with a forced write,
+     * shared with the transactions committed around the same time unless the durability
+     * policy is {@link DurabilityPolicy#SYNC}, then applied in memory and handed to the logs
+     * of their data files. Returns once the transaction has been applied.
+     *
+     * @param entries the changes of the transaction
+     * @param apply   applies the changes to the model objects held in memory
+     * @throws RuntimeException if the transaction could not be written to the journal, or
+     *                          the error raised while applying it
+     */
+    public static synchronized void commit(List<Entry> entries, Runnable apply) {
+        if (entries.isEmpty()) {
+            apply.run();
+            return;
+        }
+        StringBuilder line = new StringBuilder(COMMIT);
+        for (Entry entry : entries) {
+            line.append(RECORD_SEPARATOR_STRING).append(entry.filePath()).append(DELIMITER_STRING).append(entry.line());
+        }
+        PendingTransaction transaction = new PendingTransaction(line.append('\n').toString(), entries, apply);
+        PENDING_TRANSACTIONS.add(transaction);
+        if (StorageConfig.DURABILITY_POLICY == DurabilityPolicy.SYNC) {
+            writePendingTransactions();
+        } else if (PENDING_TRANSACTIONS.size() >= StorageConfig.FLUSH_BATCH_SIZE) {
+            scheduleFlush(0);
+        } else {
+            scheduleFlush(StorageConfig.GROUP_COMMIT_WINDOW_MILLIS);
+        }
+        awaitApplied(transaction);
+    }
+
+    /**
+     * Asks the background flusher to write the pending transactions after the given delay,
+     * unless a write is already scheduled. A delay of zero always schedules a write.
+     *
+     * @param delayMillis the delay in milliseconds
+     */
+    private static void scheduleFlush(long delayMillis) {
+        if (flushScheduled && delayMillis > 0) {
+            return;
+        }
+        flushScheduled = true;
+        FLUSHER.schedule(TransactionJournal::flushInBackground, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the pending transactions on the background flusher.
+     */
+    private static synchronized void flushInBackground() {
+        flushScheduled = false;
+        writePendingTransactions();
+    }
+
+    /**
+     * Waits until a transaction has been written and applied. The wait is not cut short by
+     * an interrupt, as the caller relies on the transaction being applied when it returns;
+     * the interrupt is kept for the caller.
+     *
+     * @param transaction the transaction to wait for
+     * @throws RuntimeException if the transaction could not be written or applied
+     */
+    private static void awaitApplied(PendingTransaction transaction) {
+        boolean interrupted = false;
+        while (!transaction.done) {
+            try {
+                TransactionJournal.class.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (transaction.failure != null) {
+            throw transaction.failure;
+        }
+    }
+
+    /**
+     * Writes every pending transaction to the journal with a single forced write, then
+     * applies them in the order they were committed, and wakes their committers. The
+     * journal is only emptied once the whole batch has been applied, so that no transaction
+     * on disk is lost before it reaches the logs. If the write fails, none of the batch is
+     * applied, and every committer receives the error.
+     */
+    private static void writePendingTransactions() {
+        if (PENDING_TRANSACTIONS.isEmpty()) {
+            return;
+        }
+        List<PendingTransaction> batch = new ArrayList<>(PENDING_TRANSACTIONS);
+        PENDING_TRANSACTIONS.clear();
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (PendingTransaction transaction : batch) {
+                lines.append(transaction.line);
+            }
+            write(lines.toString());
+        } catch (RuntimeException e) {
+            for (PendingTransaction transaction : batch) {
+                transaction.failure = e;
+                transaction.done = true;
+            }
+            TransactionJournal.class.notifyAll();
+            return;
+        }
+        for (PendingTransaction transaction : batch) {
+            try {
+                apply(transaction);
+            } catch (RuntimeException e) {
+                transaction.failure = e;
+            }
+        }
+        try {
+            if (!StorageConfig.APPEND_ONLY_LOG) {
+                // the apply step saved every data file in full
+                truncate();
+            } else if (transactionCount >= StorageConfig.COMPACTION_THRESHOLD) {
+                checkpoint();
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+        } finally {
+            for (PendingTransaction transaction : batch) {
+                transaction.done = true;
+            }
+            TransactionJournal.class.notifyAll();
+        }
+    }
+
+    /**
+     * Applies a transaction that is on disk in the journal, and hands its changes to the
+     * logs of their data files.
+     *
+     * @param transaction the transaction
+     */
+    private static void apply(PendingTransaction transaction) {
+        transactionCount++;
+        transaction.apply.run();
+        if (!StorageConfig.APPEND_ONLY_LOG) {
+            return;
+        }
+        for (Entry entry : transaction.entries) {
+            entry.log().appendCommitted(entry.key(), entry.line());
+            LOGS_TO_CHECKPOINT.add(entry.log());
+        }
+    }
+
+    /**
+     * Writes and applies the pending transactions, forces every change committed so far to
+     * the logs of their data files, then empties the journal.
+     *
+     * @throws RuntimeException if the changes could not be written
+     */
+    public static synchronized void checkpoint() {
+        writePendingTransactions();
+        for (AppendOnlyLog log : LOGS_TO_CHECKPOINT) {
+            log.flush();
+        }
+        truncate();
+    }
+
+    /**
+     * Takes a checkpoint, then runs an action while no transaction can commit. Used to save
+     * a data file in full without leaving journal entries that are older than it.
+     *
+     * @param action the action to run
+     */
+    public static synchronized void runAfterCheckpoint(Runnable action) {
+        checkpoint();
+        action.run();
+    }
+
+    /**
+     * Copies the changes of every transaction in the journal that did not reach the log of
+     * its data file into that log, then empties the journal. Must run before any data file
+     * is loaded; later calls do nothing.
+     *
+     * @throws RuntimeException if the journal could not be recovered
+     */
+    public static synchronized void recover() {
+        if (recovered) {
+            return;
+        }
+        recovered = true;
+        Path path = getPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        Map<String, List<String>> linesByFile = new LinkedHashMap<>();
+        AppendOnlyLog.truncateTornTail(path);
+        try (BufferedReader bufferedReader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                readTransaction(line, linesByFile);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from journal: " + path);
+        }
+        for (Map.Entry<String, List<String>> file : linesByFile.entrySet()) {
+            AppendOnlyLog log = new AppendOnlyLog(file.getKey());
+            Map<String, Long> latestSequences = new HashMap<>();
+            for (AppendOnlyLog.Record record : log.read()) {
+                latestSequences.merge(record.key(), record.sequence(), Math::max);
+            }
+            List<String> missingLines = new ArrayList<>();
+            for (String line : file.getValue()) {
+                AppendOnlyLog.Record record = AppendOnlyLog.parse(line);
+                if (record.sequence() > latestSequences.getOrDefault(record.key(), 0L)) {
+                    missingLines.add(line);
+                }
+            }
+            log.appendRecovered(missingLines);
+        }
+        truncate();
+    }
+
+    /**
+     * Reads one committed transaction of the journal, grouping its changes by data file.
+     * A line that is not a complete transaction is skipped.
+     *
+     * @param line        the line of the journal
+     * @param linesByFile the encoded log records of each data file to add the changes to
+     */
+    private static void readTransaction(String line, Map<String, List<String>> linesByFile) {
+        int partEnd = line.indexOf(RECORD_SEPARATOR_STRING);
+        if (!line.substring(0, partEnd < 0 ? line.length() : partEnd).equals(COMMIT)) {
+            return;
+        }
+        List<String[]> changes = new ArrayList<>();
+        while (partEnd >= 0) {
+            int partStart = partEnd + RECORD_SEPARATOR_STRING.length();
+            partEnd = line.indexOf(RECORD_SEPARATOR_STRING, partStart);
+            int end = partEnd < 0 ? line.length() : partEnd;
+            if (partStart == end) {
+                continue;
+            }
+            int pathEnd = line.indexOf(DELIMITER_STRING, partStart);
+            if (pathEnd < 0 || pathEnd >= end) {
+                return;
+            }
+            String recordLine = line.substring(pathEnd + DELIMITER_STRING.length(), end);
+            AppendOnlyLog.Record record = AppendOnlyLog.parse(recordLine);
+            if (record == null) {
+                return;
+            }
+            AppendOnlyLog.observeSequence(record.sequence());
+            changes.add(new String[]{line.substring(partStart, pathEnd), recordLine});
+        }
+        for (String[] change : changes) {
+            linesByFile.computeIfAbsent(change[0], filePath -> new ArrayList<>()).add(change[1]);
+        }
+    }
+
+    /**
+     * Appends lines to the journal and forces it to disk. The journal file is opened on the
+     * first write and kept open until the journal is emptied.
+     *
+     * @param lines the lines to append
+     * @throws RuntimeException if the lines could not be appended
+     */
+    private static void write(String lines) {
+        Path path = getPath();
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines);
+        try {
+            if (channel == null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                channel = FileChannel.open(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            closeChannel();
+            throw new RuntimeException("Data could not be appended to journal: " + path);
+        }
+    }
+
+    /**
+     * Closes the journal file if it is open. An error while closing is ignored, as every
+     * line written has already been forced to disk.
+     */
+    private static void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing is lost: each write is forced before it returns
+        }
+        channel = null;
+    }
+
+    /**
+     * Empties the journal.
+     *
+     * @throws RuntimeException if the journal could not be emptied
+     */
+    private static void truncate() {
+        closeChannel();
+        try {
+            Files.deleteIfExists(getPath());
+        } catch (IOException e) {
+            throw new RuntimeException("Journal could not be emptied: " + getPath());
+        }
+        LOGS_TO_CHECKPOINT.clear();
+        transactionCount = 0;
+    }
+
+    /**
+     * A transaction waiting to be written to the journal.
+     */
+    private static final class PendingTransaction {
+
+        private final String line;
+
+        private final List<Entry> entries;
+
+        private final Runnable apply;
+
+        /**
+         * Whether the transaction has been written and applied, or has failed.
+         */
+        private boolean done = false;
+
+        /**
+         * The error raised while writing or applying the transaction, if any.
+         */
+        private RuntimeException failure = null;
+
+        PendingTransaction(String line, List<Entry> entries, Runnable apply) {
+            this.line = line;
+            this.entries = entries;
+            this.apply = apply;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package main.utils.ui;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The RenderCache class keeps the displayable strings of one model, so that displaying an
+ * unchanged model again does not format it again.
+ * <p>
+ * Each model holds its own cache, so the renderings are tied to the identity of the model.
+ * The cache counts the modifications of the model: the setters of the model call
+ * {@link #invalidate()}, and a rendering is only reused while the count is the one it was
+ * made at. A model read from a data file starts with an empty cache, as its fields are set
+ * before it is first displayed.
+ */
+public class RenderCache {
+    /**
+     * The number of times the model has been modified.
+     */
+    private long version = 0;
+
+    /**
+     * The renderings of the model, keyed by variant.
+     */
+    private final Map<String, Rendering> renderings = new HashMap<>();
+
+    /**
+     * Marks the model as modified, so that its renderings are made again.
+     */
+    public synchronized void invalidate() {
+        version++;
+        renderings.clear();
+    }
+
+    /**
+     * Gets a rendering of the model, making it if it has not been made since the model was
+     * last modified.
+     *
+     * @param variant  the variant of the rendering, such as the type it is shown with, or null
+     *                 for the plain rendering
+     * @param renderer makes the rendering
+     * @return the rendering
+     */
+    public synchronized String get(String variant, Supplier<String> renderer) {
+        Rendering rendering = renderings.get(variant);
+        if (rendering == null || rendering.version() != version) {
+            rendering = new Rendering(version, renderer.get());
+            renderings.put(variant, rendering);
+        }
+        return rendering.text();
+    }
+
+    /**
+     * A rendering of the model.
+     *
+     * @param version the modification count of the model it was made at
+     * @param text    the rendered string
+     */
+    private record Rendering(long version, String text) {
+    }
+}
@@ -0,0 +1,199 @@
+package main.utils.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TableLayout class lays out the boxed two-column tables used to display models: an
+ * optional centred title, divider lines, text lines, and rows of a label and a value.
+ * <p>
+ * A layout fixes the widths of the label and value columns, and every line of a table built
+ * with it is as wide as the two columns with their borders. Labels and values are padded to
+ * their column; like the tables they replace, values longer than their column are not cut.
+ */
+public class TableLayout {
+    /**
+     * The largest number of lines a title is wrapped over. The words that do not fit are left out.
+     */
+    private static final int MAX_TITLE_LINES = 2;
+
+    /**
+     * The width of the label column.
+     */
+    private final int labelWidth;
+
+    /**
+     * The width of the value column.
+     */
+    private final int valueWidth;
+
+    /**
+     * Constructs a layout with the given column widths.
+     *
+     * @param labelWidth the width of the label column
+     * @param valueWidth the width of the value column
+     */
+    public TableLayout(int labelWidth, int valueWidth) {
+        this.labelWidth = labelWidth;
+        this.valueWidth = valueWidth;
+    }
+
+    /**
+     * Gets the width of a line between its outer borders.
+     *
+     * @return the inner width of the table
+     */
+    public int getInnerWidth() {
+        return labelWidth + valueWidth + 5;
+    }
+
+    /**
+     * Starts a new table with this layout.
+     *
+     * @return the empty table
+     */
+    public Table newTable() {
+        return new Table();
+    }
+
+    /**
+     * Pads a string with spaces on the right to a width.
+     *
+     * @param builder the builder to append to
+     * @param text    the string
+     * @param width   the width
+     */
+    private static void appendPadded(StringBuilder builder, String text, int width) {
+        builder.append(text);
+        for (int i = text.length(); i < width; i++) {
+            builder.append(' ');
+        }
+    }
+
+    /**
+     * Appends a number of spaces.
+     *
+     * @param builder the builder to append to
+     * @param count   the number of spaces
+     */
+    private static void appendSpaces(StringBuilder builder, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(' ');
+        }
+    }
+
+    /**
+     * Wraps a title into lines no wider than a width, breaking between words.
+     *
+     * @param title the title
+     * @param width the width
+     * @return the lines of the title, at most {@link #MAX_TITLE_LINES} of them
+     */
+    private static List<String> wrap(String title, int width) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : title.trim().split("\\s+")) {
+            if (line.length() > 0 && line.length() + 1 + word.length() > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+                if (lines.size() == MAX_TITLE_LINES) {
+                    return lines;
+                }
+            }
+            if (line.length() > 0) {
+                line.append(' ');
+            }
+            line.append(word.length() > width ? word.substring(0, width) : word);
+        }
+        lines.add(line.toString());
+        return lines;
+    }
+
+    /**
+     * A table being built with a {@link TableLayout}.
+     */
+    public class Table {
+
+        private final StringBuilder builder = new StringBuilder();
+
+        private Table() {
+        }
+
+        /**
+         * Adds a title, centred and, if it does not fit on one line, wrapped between words
+         * over at most two lines that leave at least one column free.
+         *
+         * @param title the title
+         * @return this table
+         */
+        public Table title(String title) {
+            int width = getInnerWidth() - 2;
+            boolean wrapped = title.length() > width;
+            List<String> lines = wrapped ? wrap(title, width - 1) : List.of(title);
+            for (String line : lines) {
+                // a wrapped line is centred with the space after its last word
+                int leftPadding = (width - line.length() - (wrapped ? 1 : 0)) / 2;
+                builder.append("| ");
+                appendSpaces(builder, leftPadding);
+                appendPadded(builder, line, width - leftPadding);
+                builder.append(" |\n");
+            }
+            return this;
+        }
+
+        /**
+         * Adds a divider line.
+         *
+         * @return this table
+         */
+        public Table divider() {
+            builder.append('|');
+            for (int i = 0; i < getInnerWidth(); i++) {
+                builder.append('-');
+            }
+            builder.append("|\n");
+            return this;
+        }
+
+        /**
+         * Adds a line of text.
+         *
+         * @param indent the number of spaces before the text
+         * @param text   the text
+         * @return this table
+         */
+        public Table text(int indent, String text) {
+            builder.append('|');
+            appendSpaces(builder, indent);
+            appendPadded(builder, text, getInnerWidth() - indent);
+            builder.append("|\n");
+            return this;
+        }
+
+        /**
+         * Adds a row of a label and a value.
+         *
+         * @param label the label
+         * @param value the value, shown as given by {@link String#valueOf(Object)}
+         * @return this table
+         */
+        public Table row(String label, Object value) {
+            builder.append("| ");
+            appendPadded(builder, label, labelWidth);
+            builder.append(" | ");
+            appendPadded(builder, String.valueOf(value), valueWidth);
+            builder.append(" |\n");
+            return this;
+        }
+
+        /**
+         * Gets the table built so far.
+         *
+         * @return the lines of the table, each ending with a line break
+         */
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}